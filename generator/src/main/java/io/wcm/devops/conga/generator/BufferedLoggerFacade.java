@@ -0,0 +1,361 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+/**
+ * Logger wrapper that records all log messages and writes them to the delegate logger when {@link #flush()} is called.
+ * This allows generating multiple items in parallel while keeping the log output of each item together.
+ * Whether a log level is enabled is always checked against the delegate logger.
+ */
+@SuppressWarnings("java:S2629")
+class BufferedLoggerFacade implements Logger {
+
+  private final Logger delegate;
+  private final List<Consumer<Logger>> events = new ArrayList<>();
+
+  BufferedLoggerFacade(Logger delegate) {
+    this.delegate = delegate;
+  }
+
+  private synchronized void buffer(Consumer<Logger> event) {
+    events.add(event);
+  }
+
+  /**
+   * Writes all recorded log messages to the delegate logger, and clears the buffer.
+   */
+  synchronized void flush() {
+    events.forEach(event -> event.accept(delegate));
+    events.clear();
+  }
+
+  @Override
+  public String getName() {
+    return this.delegate.getName();
+  }
+
+  @Override
+  public boolean isTraceEnabled() {
+    return this.delegate.isTraceEnabled();
+  }
+
+  @Override
+  public void trace(String msg) {
+    buffer(logger -> logger.trace(msg));
+  }
+
+  @Override
+  public void trace(String format, Object arg) {
+    buffer(logger -> logger.trace(format, arg));
+  }
+
+  @Override
+  public void trace(String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.trace(format, arg1, arg2));
+  }
+
+  @Override
+  public void trace(String format, Object... arguments) {
+    buffer(logger -> logger.trace(format, arguments));
+  }
+
+  @Override
+  public void trace(String msg, Throwable t) {
+    buffer(logger -> logger.trace(msg, t));
+  }
+
+  @Override
+  public boolean isTraceEnabled(Marker marker) {
+    return this.delegate.isTraceEnabled(marker);
+  }
+
+  @Override
+  public void trace(Marker marker, String msg) {
+    buffer(logger -> logger.trace(marker, msg));
+  }
+
+  @Override
+  public void trace(Marker marker, String format, Object arg) {
+    buffer(logger -> logger.trace(marker, format, arg));
+  }
+
+  @Override
+  public void trace(Marker marker, String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.trace(marker, format, arg1, arg2));
+  }
+
+  @Override
+  public void trace(Marker marker, String format, Object... argArray) {
+    buffer(logger -> logger.trace(marker, format, argArray));
+  }
+
+  @Override
+  public void trace(Marker marker, String msg, Throwable t) {
+    buffer(logger -> logger.trace(marker, msg, t));
+  }
+
+  @Override
+  public boolean isDebugEnabled() {
+    return this.delegate.isDebugEnabled();
+  }
+
+  @Override
+  public void debug(String msg) {
+    buffer(logger -> logger.debug(msg));
+  }
+
+  @Override
+  public void debug(String format, Object arg) {
+    buffer(logger -> logger.debug(format, arg));
+  }
+
+  @Override
+  public void debug(String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.debug(format, arg1, arg2));
+  }
+
+  @Override
+  public void debug(String format, Object... arguments) {
+    buffer(logger -> logger.debug(format, arguments));
+  }
+
+  @Override
+  public void debug(String msg, Throwable t) {
+    buffer(logger -> logger.debug(msg, t));
+  }
+
+  @Override
+  public boolean isDebugEnabled(Marker marker) {
+    return this.delegate.isDebugEnabled(marker);
+  }
+
+  @Override
+  public void debug(Marker marker, String msg) {
+    buffer(logger -> logger.debug(marker, msg));
+  }
+
+  @Override
+  public void debug(Marker marker, String format, Object arg) {
+    buffer(logger -> logger.debug(marker, format, arg));
+  }
+
+  @Override
+  public void debug(Marker marker, String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.debug(marker, format, arg1, arg2));
+  }
+
+  @Override
+  public void debug(Marker marker, String format, Object... arguments) {
+    buffer(logger -> logger.debug(marker, format, arguments));
+  }
+
+  @Override
+  public void debug(Marker marker, String msg, Throwable t) {
+    buffer(logger -> logger.debug(marker, msg, t));
+  }
+
+  @Override
+  public boolean isInfoEnabled() {
+    return this.delegate.isInfoEnabled();
+  }
+
+  @Override
+  public void info(String msg) {
+    buffer(logger -> logger.info(msg));
+  }
+
+  @Override
+  public void info(String format, Object arg) {
+    buffer(logger -> logger.info(format, arg));
+  }
+
+  @Override
+  public void info(String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.info(format, arg1, arg2));
+  }
+
+  @Override
+  public void info(String format, Object... arguments) {
+    buffer(logger -> logger.info(format, arguments));
+  }
+
+  @Override
+  public void info(String msg, Throwable t) {
+    buffer(logger -> logger.info(msg, t));
+  }
+
+  @Override
+  public boolean isInfoEnabled(Marker marker) {
+    return this.delegate.isInfoEnabled(marker);
+  }
+
+  @Override
+  public void info(Marker marker, String msg) {
+    buffer(logger -> logger.info(marker, msg));
+  }
+
+  @Override
+  public void info(Marker marker, String format, Object arg) {
+    buffer(logger -> logger.info(marker, format, arg));
+  }
+
+  @Override
+  public void info(Marker marker, String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.info(marker, format, arg1, arg2));
+  }
+
+  @Override
+  public void info(Marker marker, String format, Object... arguments) {
+    buffer(logger -> logger.info(marker, format, arguments));
+  }
+
+  @Override
+  public void info(Marker marker, String msg, Throwable t) {
+    buffer(logger -> logger.info(marker, msg, t));
+  }
+
+  @Override
+  public boolean isWarnEnabled() {
+    return this.delegate.isWarnEnabled();
+  }
+
+  @Override
+  public void warn(String msg) {
+    buffer(logger -> logger.warn(msg));
+  }
+
+  @Override
+  public void warn(String format, Object arg) {
+    buffer(logger -> logger.warn(format, arg));
+  }
+
+  @Override
+  public void warn(String format, Object... arguments) {
+    buffer(logger -> logger.warn(format, arguments));
+  }
+
+  @Override
+  public void warn(String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.warn(format, arg1, arg2));
+  }
+
+  @Override
+  public void warn(String msg, Throwable t) {
+    buffer(logger -> logger.warn(msg, t));
+  }
+
+  @Override
+  public boolean isWarnEnabled(Marker marker) {
+    return this.delegate.isWarnEnabled(marker);
+  }
+
+  @Override
+  public void warn(Marker marker, String msg) {
+    buffer(logger -> logger.warn(marker, msg));
+  }
+
+  @Override
+  public void warn(Marker marker, String format, Object arg) {
+    buffer(logger -> logger.warn(marker, format, arg));
+  }
+
+  @Override
+  public void warn(Marker marker, String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.warn(marker, format, arg1, arg2));
+  }
+
+  @Override
+  public void warn(Marker marker, String format, Object... arguments) {
+    buffer(logger -> logger.warn(marker, format, arguments));
+  }
+
+  @Override
+  public void warn(Marker marker, String msg, Throwable t) {
+    buffer(logger -> logger.warn(marker, msg, t));
+  }
+
+  @Override
+  public boolean isErrorEnabled() {
+    return this.delegate.isErrorEnabled();
+  }
+
+  @Override
+  public void error(String msg) {
+    buffer(logger -> logger.error(msg));
+  }
+
+  @Override
+  public void error(String format, Object arg) {
+    buffer(logger -> logger.error(format, arg));
+  }
+
+  @Override
+  public void error(String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.error(format, arg1, arg2));
+  }
+
+  @Override
+  public void error(String format, Object... arguments) {
+    buffer(logger -> logger.error(format, arguments));
+  }
+
+  @Override
+  public void error(String msg, Throwable t) {
+    buffer(logger -> logger.error(msg, t));
+  }
+
+  @Override
+  public boolean isErrorEnabled(Marker marker) {
+    return this.delegate.isErrorEnabled(marker);
+  }
+
+  @Override
+  public void error(Marker marker, String msg) {
+    buffer(logger -> logger.error(marker, msg));
+  }
+
+  @Override
+  public void error(Marker marker, String format, Object arg) {
+    buffer(logger -> logger.error(marker, format, arg));
+  }
+
+  @Override
+  public void error(Marker marker, String format, Object arg1, Object arg2) {
+    buffer(logger -> logger.error(marker, format, arg1, arg2));
+  }
+
+  @Override
+  public void error(Marker marker, String format, Object... arguments) {
+    buffer(logger -> logger.error(marker, format, arguments));
+  }
+
+  @Override
+  public void error(Marker marker, String msg, Throwable t) {
+    buffer(logger -> logger.error(marker, msg, t));
+  }
+
+}
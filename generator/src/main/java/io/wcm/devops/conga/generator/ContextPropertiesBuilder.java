@@ -48,6 +48,7 @@ import io.wcm.devops.conga.model.environment.Node;
 import io.wcm.devops.conga.model.environment.NodeRole;
 import io.wcm.devops.conga.model.environment.Tenant;
 import io.wcm.devops.conga.model.util.MapMerger;
+import io.wcm.devops.conga.model.util.SharedValue;
 
 /**
  * Builds context variables
@@ -100,7 +101,8 @@ public final class ContextPropertiesBuilder {
     variableObjectTreeResolver.resolve(clonedEnvironemnt);
 
     // list of nodes
-    map.put(NODES, clonedEnvironemnt.getNodes());
+    // the lists and maps of nodes and tenants are shared between all configuration maps of the environment
+    map.put(NODES, SharedValue.list(clonedEnvironemnt.getNodes()));
     Map<String, List<Node>> nodesByRole = new HashMap<>();
     Map<String, Map<String, List<Node>>> nodesByRoleVariant = new HashMap<>();
     for (Node node : clonedEnvironemnt.getNodes()) {
@@ -128,11 +130,16 @@ public final class ContextPropertiesBuilder {
         }
       }
     }
-    map.put(NODES_BY_ROLE, nodesByRole);
-    map.put(NODES_BY_ROLE_VARIANT, nodesByRoleVariant);
+    nodesByRole.replaceAll((role, nodes) -> SharedValue.list(nodes));
+    nodesByRoleVariant.replaceAll((role, nodesByVariant) -> {
+      nodesByVariant.replaceAll((variant, nodes) -> SharedValue.list(nodes));
+      return SharedValue.map(nodesByVariant);
+    });
+    map.put(NODES_BY_ROLE, SharedValue.map(nodesByRole));
+    map.put(NODES_BY_ROLE_VARIANT, SharedValue.map(nodesByRoleVariant));
 
     // list of tenants
-    map.put(TENANTS, clonedEnvironemnt.getTenants());
+    map.put(TENANTS, SharedValue.list(clonedEnvironemnt.getTenants()));
     Map<String, List<Tenant>> tenantsByRole = new HashMap<>();
     for (Tenant tenant : clonedEnvironemnt.getTenants()) {
 
@@ -150,7 +157,8 @@ public final class ContextPropertiesBuilder {
         tenants.add(tenant);
       }
     }
-    map.put(TENANTS_BY_ROLE, tenantsByRole);
+    tenantsByRole.replaceAll((role, tenants) -> SharedValue.list(tenants));
+    map.put(TENANTS_BY_ROLE, SharedValue.map(tenantsByRole));
 
     return map;
   }
@@ -31,6 +31,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -45,10 +48,16 @@ import com.github.jknack.handlebars.Template;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.wcm.devops.conga.generator.export.NodeModelExport;
 import io.wcm.devops.conga.generator.handlebars.HandlebarsManager;
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore;
 import io.wcm.devops.conga.generator.plugins.handlebars.escaping.NoneEscapingStrategy;
 import io.wcm.devops.conga.generator.plugins.multiply.NoneMultiply;
+import io.wcm.devops.conga.generator.spi.FileHeaderPlugin;
 import io.wcm.devops.conga.generator.spi.MultiplyPlugin;
-import io.wcm.devops.conga.generator.spi.ValidationException;
+import io.wcm.devops.conga.generator.spi.Plugin;
+import io.wcm.devops.conga.generator.spi.PostProcessorPlugin;
+import io.wcm.devops.conga.generator.spi.ValidatorPlugin;
+import io.wcm.devops.conga.generator.spi.ValueEncryptionPlugin;
+import io.wcm.devops.conga.generator.spi.ValueProviderPlugin;
 import io.wcm.devops.conga.generator.spi.context.MultiplyContext;
 import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
 import io.wcm.devops.conga.generator.spi.context.UrlFilePluginContext;
@@ -56,13 +65,18 @@ import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
 import io.wcm.devops.conga.generator.spi.export.context.ExportNodeRoleData;
 import io.wcm.devops.conga.generator.spi.export.context.GeneratedFileContext;
 import io.wcm.devops.conga.generator.spi.handlebars.EscapingStrategyPlugin;
+import io.wcm.devops.conga.generator.spi.handlebars.HelperPlugin;
 import io.wcm.devops.conga.generator.spi.handlebars.context.EscapingStrategyContext;
 import io.wcm.devops.conga.generator.spi.yaml.YamlRepresentPlugin;
 import io.wcm.devops.conga.generator.spi.yaml.context.YamlRepresentContext;
 import io.wcm.devops.conga.generator.spi.yaml.context.YamlRepresenter;
 import io.wcm.devops.conga.generator.util.EnvironmentExpander;
 import io.wcm.devops.conga.generator.util.FileUtil;
+import io.wcm.devops.conga.generator.util.FingerprintBuilder;
 import io.wcm.devops.conga.generator.util.RoleUtil;
+import io.wcm.devops.conga.generator.util.SharedJexlEngine;
+import io.wcm.devops.conga.generator.util.SharedValueFingerprints;
+import io.wcm.devops.conga.generator.util.ValueProviderPrefetcher;
 import io.wcm.devops.conga.generator.util.VariableMapResolver;
 import io.wcm.devops.conga.generator.util.VariableObjectTreeResolver;
 import io.wcm.devops.conga.generator.util.VariableStringResolver;
@@ -73,7 +87,10 @@ import io.wcm.devops.conga.model.reader.RoleReader;
 import io.wcm.devops.conga.model.role.Role;
 import io.wcm.devops.conga.model.role.RoleFile;
 import io.wcm.devops.conga.model.role.RoleVariant;
+import io.wcm.devops.conga.model.util.LayeredMap;
+import io.wcm.devops.conga.model.util.MapMergeCache;
 import io.wcm.devops.conga.model.util.MapMerger;
+import io.wcm.devops.conga.model.util.PersistentMap;
 import io.wcm.devops.conga.resource.ResourceCollection;
 import io.wcm.devops.conga.resource.ResourceLoader;
 
@@ -82,33 +99,52 @@ import io.wcm.devops.conga.resource.ResourceLoader;
  */
 final class EnvironmentGenerator {
 
+  /**
+   * Plugin types that contribute to the content of generated files. Their versions are part of the fingerprints
+   * used for incremental generation.
+   */
+  private static final List<Class<? extends Plugin>> FINGERPRINT_PLUGIN_TYPES = List.of(
+      EscapingStrategyPlugin.class,
+      HelperPlugin.class,
+      ValueProviderPlugin.class,
+      ValueEncryptionPlugin.class,
+      MultiplyPlugin.class,
+      FileHeaderPlugin.class,
+      ValidatorPlugin.class,
+      PostProcessorPlugin.class);
+
   private final GeneratorOptions options;
   private final String environmentName;
   private final Environment environment;
   private final File destDir;
   private final PluginContextOptions pluginContextOptions;
   private final HandlebarsManager handlebarsManager;
-  private final UrlFilePluginContext urlFilePluginContext;
-  private final UrlFileManager urlFileManager;
+  private final ClassLoader resourceClassLoader;
   private final MultiplyPlugin defaultMultiplyPlugin;
   private final Logger log;
+  private final ValueProviderGlobalContext valueProviderGlobalContext;
   private final VariableStringResolver variableStringResolver;
   private final VariableMapResolver variableMapResolver;
+  private final VariableObjectTreeResolver variableObjectTreeResolver;
   private final Collection<String> dependencyVersions;
+  private final String pluginFingerprint;
   private final Set<String> sensitiveConfigParameters = new HashSet<>();
 
   private final Map<String, Role> roles;
-  private final Map<String, Object> environmentContextProperties;
-  private final Set<String> generatedFilePaths = new HashSet<>();
-  private final YamlRepresenter yamlRepresenter;
+  private final Set<String> generatedFilePaths = ConcurrentHashMap.newKeySet();
+  private final SharedValueFingerprints sharedValueFingerprints = new SharedValueFingerprints();
+  private final Map<String, Map<String, Role>> resolvedRoleCache = new ConcurrentHashMap<>();
+  private final Map<Role, RoleIndex> roleIndexes = new ConcurrentHashMap<>();
+  private Map<String, Object> environmentContextProperties;
+  private GenerationManifest generationManifest;
 
   EnvironmentGenerator(String environmentName, Environment environment, File destDir,
-      GeneratorOptions options) {
+      GeneratorOptions options, TemplateMetadataStore templateMetadataStore, Logger log) {
     this.options = options;
     this.environmentName = environmentName;
     this.environment = EnvironmentExpander.expandNodes(environment, environmentName);
     this.destDir = destDir;
-    this.log = options.getLogger();
+    this.log = log;
 
     this.pluginContextOptions = new PluginContextOptions()
         .pluginManager(options.getPluginManager())
@@ -118,15 +154,15 @@ final class EnvironmentGenerator {
         .logger(this.log);
 
     // prepare variable resolvers
-    ValueProviderGlobalContext valueProviderGlobalContext = new ValueProviderGlobalContext()
+    this.valueProviderGlobalContext = new ValueProviderGlobalContext()
         .pluginContextOptions(this.pluginContextOptions);
     this.variableMapResolver = new VariableMapResolver(valueProviderGlobalContext);
     this.variableStringResolver = new VariableStringResolver(valueProviderGlobalContext, variableMapResolver);
-    VariableObjectTreeResolver variableObjectTreeResolver = new VariableObjectTreeResolver(valueProviderGlobalContext);
+    this.variableObjectTreeResolver = new VariableObjectTreeResolver(valueProviderGlobalContext);
 
     // build resource loaded based on combined dependency lists of environment and container
     List<URL> combindedClasspathUrls = ResourceLoaderUtil.getEnvironmentClasspathUrls(environment.getDependencies(), this.variableStringResolver, options);
-    ClassLoader resourceClassLoader = ResourceLoaderUtil.buildClassLoader(combindedClasspathUrls);
+    this.resourceClassLoader = ResourceLoaderUtil.buildClassLoader(combindedClasspathUrls);
     ResourceLoader resourceLoader = new ResourceLoader(resourceClassLoader);
 
     // prepare template and role directories
@@ -142,30 +178,36 @@ final class EnvironmentGenerator {
     // collect sensitive configuration parameter names from all roles
     this.roles.values().forEach(role -> sensitiveConfigParameters.addAll(role.getSensitiveConfigParameters()));
 
-    this.urlFilePluginContext = new UrlFilePluginContext()
-        .pluginContextOptions(pluginContextOptions)
-        .baseDir(options.getBaseDir())
-        .resourceClassLoader(resourceClassLoader)
-        .environment(environment);
-    this.urlFileManager = new UrlFileManager(options.getPluginManager(), this.urlFilePluginContext);
+    // URL file manager for plugins used outside node generation (node-specific instances are created per node)
+    this.pluginContextOptions.urlFileManager(createUrlFileManager(this.pluginContextOptions, null));
 
-    this.handlebarsManager = new HandlebarsManager(templateDirs, this.pluginContextOptions);
+    this.handlebarsManager = new HandlebarsManager(templateDirs, this.pluginContextOptions, templateMetadataStore);
 
     this.defaultMultiplyPlugin = options.getPluginManager().get(NoneMultiply.NAME, MultiplyPlugin.class);
-    this.environmentContextProperties = Collections.unmodifiableMap(
-        ContextPropertiesBuilder.buildEnvironmentContextVariables(environmentName, this.environment, options.getVersion(),
-            variableObjectTreeResolver, variableStringResolver));
 
     this.dependencyVersions = options.getDependencyVersionBuilder() != null ? options.getDependencyVersionBuilder().apply(environment) : List.of();
+    this.pluginFingerprint = options.isIncremental() ? buildPluginFingerprint() : null;
+  }
 
-    // prepare YAML representer
-    yamlRepresenter = new YamlRepresenter();
+  private UrlFileManager createUrlFileManager(PluginContextOptions contextOptions, File nodeDir) {
+    UrlFilePluginContext urlFilePluginContext = new UrlFilePluginContext()
+        .pluginContextOptions(contextOptions)
+        .baseDir(options.getBaseDir())
+        .resourceClassLoader(resourceClassLoader)
+        .environment(environment)
+        .baseNodeDir(nodeDir);
+    return new UrlFileManager(options.getPluginManager(), urlFilePluginContext);
+  }
+
+  private YamlRepresenter createYamlRepresenter(PluginContextOptions contextOptions) {
+    YamlRepresenter yamlRepresenter = new YamlRepresenter();
     options.getPluginManager().getAll(YamlRepresentPlugin.class).forEach(plugin -> {
       YamlRepresentContext context = new YamlRepresentContext()
-          .pluginContextOptions(pluginContextOptions)
+          .pluginContextOptions(contextOptions)
           .yamlRepresenter(yamlRepresenter);
       plugin.register(context);
     });
+    return yamlRepresenter;
   }
 
   /**
@@ -177,15 +219,109 @@ final class EnvironmentGenerator {
     log.info("===== Environment '{}' =====", environmentName);
 
     Set<String> nodeNamesIndex = ArrayUtils.isEmpty(nodeNames) ? Collections.emptySet() : Set.of(nodeNames);
-    for (Node node : environment.getNodes()) {
-      if (isSelectedNode(node, nodeNamesIndex)) {
-        generateNode(node);
+    List<Node> selectedNodes = environment.getNodes().stream()
+        .filter(node -> isSelectedNode(node, nodeNamesIndex))
+        .collect(Collectors.toList());
+
+    // fetch values of all value providers referenced in the environment and the selected nodes with one batch call per value provider
+    new ValueProviderPrefetcher(valueProviderGlobalContext).prefetch(environment, selectedNodes);
+
+    environmentContextProperties = Collections.unmodifiableMap(
+        ContextPropertiesBuilder.buildEnvironmentContextVariables(environmentName, environment, options.getVersion(),
+            variableObjectTreeResolver, variableStringResolver));
+
+    // load fingerprints and generated files from previous run
+    File manifestFile = new File(options.getStateDir(), environmentName + ".json");
+    if (options.isIncremental() || isDeleteStaleFiles()) {
+      generationManifest = GenerationManifest.load(manifestFile, destDir, log);
+    }
+
+    // separate executors for rendering files and for applying file header, validation and post processing
+    ExecutorService fileRenderExecutor = null;
+    ExecutorService fileProcessExecutor = null;
+    if (options.getFileThreads() > 1) {
+      fileRenderExecutor = Executors.newFixedThreadPool(options.getFileThreads());
+      fileProcessExecutor = Executors.newFixedThreadPool(options.getFileThreads());
+    }
+
+    // generate nodes - in parallel if configured, log output is written in order of the nodes
+    try {
+      ExecutorService renderExecutor = fileRenderExecutor;
+      ExecutorService processExecutor = fileProcessExecutor;
+      ParallelExecutor.execute(selectedNodes, options.getNodeThreads(), log,
+          (node, nodeLog) -> {
+            generateNode(node, nodeLog, renderExecutor, processExecutor);
+            return null;
+          });
+
+      if (isDeleteStaleFiles()) {
+        deleteStaleFiles(selectedNodes);
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Template cache: {}", handlebarsManager.getTemplateCacheStats());
+        log.debug("JEXL expression cache: {}", SharedJexlEngine.get().getCacheStats());
+      }
+    }
+    finally {
+      if (fileRenderExecutor != null) {
+        fileRenderExecutor.shutdownNow();
+        fileProcessExecutor.shutdownNow();
+      }
+      // save manifest also if generation failed - it contains only files that were generated successfully
+      if (generationManifest != null) {
+        generationManifest.save();
       }
     }
 
     log.info("");
   }
 
+  /**
+   * Stale files are deleted in sync mode, and in incremental or write-if-changed mode when delete-before-generate
+   * is set, because the environment folders are not deleted in these modes.
+   * @return true if files from the previous run that are no longer generated should be deleted
+   */
+  private boolean isDeleteStaleFiles() {
+    return options.isSync()
+        || (options.isDeleteBeforeGenerate() && (options.isIncremental() || options.isWriteIfChanged()));
+  }
+
+  /**
+   * Delete files generated by the previous run for the given nodes that were not generated by this run.
+   * @param nodes Generated nodes
+   */
+  private void deleteStaleFiles(List<Node> nodes) {
+    List<File> nodeDirs = nodes.stream()
+        .map(node -> new File(destDir, node.getNode()))
+        .collect(Collectors.toList());
+    List<File> staleFiles = generationManifest.updateGeneratedFiles(generatedFilePaths, nodeDirs);
+    for (File staleFile : staleFiles) {
+      try {
+        if (Files.deleteIfExists(staleFile.toPath())) {
+          log.info("Delete stale file {}", FileUtil.getCanonicalPath(staleFile));
+          deleteEmptyParentDirs(staleFile);
+        }
+      }
+      catch (IOException ex) {
+        throw new GeneratorException("Unable to delete: " + FileUtil.getCanonicalPath(staleFile), ex);
+      }
+    }
+  }
+
+  @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+  private void deleteEmptyParentDirs(File file) {
+    File environmentDir = destDir.getAbsoluteFile();
+    File dir = file.getAbsoluteFile().getParentFile();
+    while (dir != null && !dir.equals(environmentDir) && dir.getParentFile() != null && !dir.getParentFile().equals(environmentDir)) {
+      String[] children = dir.list();
+      if (children == null || children.length > 0) {
+        break;
+      }
+      dir.delete();
+      dir = dir.getParentFile();
+    }
+  }
+
   private boolean isSelectedNode(Node node, Set<String> nodeNames) {
     if (nodeNames.isEmpty()) {
       return true;
@@ -196,85 +332,115 @@ final class EnvironmentGenerator {
     return CollectionUtils.containsAny(node.getNodes(), nodeNames);
   }
 
-  private void generateNode(Node node) {
+  private void generateNode(Node node, Logger nodeLog, ExecutorService fileRenderExecutor, ExecutorService fileProcessExecutor) {
     if (StringUtils.isEmpty(node.getNode())) {
       throw new GeneratorException("Missing node name in " + environmentName + ".");
     }
 
-    log.info("");
-    log.info("----- Node '{}' -----", node.getNode());
+    nodeLog.info("");
+    nodeLog.info("----- Node '{}' -----", node.getNode());
 
     File nodeDir = FileUtil.ensureDirExistsAutocreate(new File(destDir, node.getNode()));
-    try {
-      this.urlFilePluginContext.baseNodeDir(nodeDir);
-
-      NodeModelExport exportModelGenerator = new NodeModelExport(nodeDir, node, environment, options.getModelExport(),
-          variableStringResolver, variableMapResolver, options.getContainerVersionInfo(), pluginContextOptions,
-          sensitiveConfigParameters, yamlRepresenter);
-
-      for (NodeRole nodeRole : node.getRoles()) {
-        // get role and resolve all inheritance relations
-        Map<String, Role> resolvedRoles = RoleUtil.resolveRole(nodeRole.getRole(), environmentName + "/" + node.getNode(), roles);
-        for (Map.Entry<String, Role> resolvedRole : resolvedRoles.entrySet()) {
-          String roleName = resolvedRole.getKey();
-          Role role = resolvedRole.getValue();
-          List<String> variants = nodeRole.getAggregatedVariants();
-
-          // collect default config from role and it's variant.
-          // default config in variants has higher precedence than config in the role itself
-          // variants listed first have higher precedence than variants listed last
-          Map<String, Object> roleDefaultConfig = new HashMap<>();
-          for (String variant : variants) {
-            RoleVariant roleVariant = getRoleVariant(role, variant, roleName, node);
-            roleDefaultConfig = MapMerger.merge(roleDefaultConfig, roleVariant.getConfig());
+
+    // plugin context options, URL file manager and YAML representer are node-specific to allow generating nodes in parallel
+    PluginContextOptions nodePluginContextOptions = new PluginContextOptions()
+        .pluginContextOptions(pluginContextOptions)
+        .logger(nodeLog);
+    UrlFileManager urlFileManager = createUrlFileManager(nodePluginContextOptions, nodeDir);
+    nodePluginContextOptions.urlFileManager(urlFileManager);
+    NodeContext nodeContext = new NodeContext(nodeDir, nodePluginContextOptions, urlFileManager);
+
+    NodeModelExport exportModelGenerator = new NodeModelExport(nodeDir, node, environment, options.getModelExport(),
+        variableStringResolver, variableMapResolver, options.getContainerVersionInfo(), nodePluginContextOptions,
+        sensitiveConfigParameters, createYamlRepresenter(nodePluginContextOptions));
+
+    for (NodeRole nodeRole : node.getRoles()) {
+      // get role and resolve all inheritance relations
+      Map<String, Role> resolvedRoles = RoleUtil.resolveRole(nodeRole.getRole(), environmentName + "/" + node.getNode(), roles, resolvedRoleCache);
+      for (Map.Entry<String, Role> resolvedRole : resolvedRoles.entrySet()) {
+        String roleName = resolvedRole.getKey();
+        Role role = resolvedRole.getValue();
+        List<String> variants = nodeRole.getAggregatedVariants();
+
+        // collect default config from role and it's variant.
+        Map<String, Object> roleDefaultConfig = getRoleDefaultConfig(role, variants, roleName, node);
+
+        // merge default values to config
+        PersistentMap<String, Object> mergedConfig = PersistentMap.copyOf(new LayeredMap<>(nodeRole.getConfig(), roleDefaultConfig));
+
+        // additionally set context variables
+        mergedConfig = mergedConfig.withAll(environmentContextProperties)
+            .withAll(ContextPropertiesBuilder.buildCurrentContextVariables(node, nodeRole));
+
+        // collect role and tenant information for export model
+        ExportNodeRoleData exportNodeRoleData = exportModelGenerator.addRole(roleName, variants, mergedConfig);
+
+        // generate files
+        FileGeneratorPipeline pipeline = new FileGeneratorPipeline(fileRenderExecutor, fileProcessExecutor, nodeLog);
+        FileConfigCache fileConfigCache = new FileConfigCache(variableMapResolver);
+        MapMergeCache mapMergeCache = new MapMergeCache();
+        for (RoleFile roleFile : role.getFiles()) {
+          // generate file if no variant is required, or at least one of the given variants is defined for the node/role
+          if (RoleUtil.matchesRoleFile(roleFile, variants)) {
+            Template template = getHandlebarsTemplate(role, roleFile, nodeRole);
+            String inputFingerprint = getInputFingerprint(role, roleFile, nodeRole, roleName, variants);
+            multiplyFiles(role, roleFile, mergedConfig, nodeContext, template, inputFingerprint,
+                roleName, variants, roleFile.getTemplate(), pipeline, fileConfigCache, mapMergeCache);
           }
-          roleDefaultConfig = MapMerger.merge(roleDefaultConfig, role.getConfig());
-
-          // merge default values to config
-          Map<String, Object> mergedConfig = nodeRole.getConfig();
-          mergedConfig = MapMerger.merge(mergedConfig, roleDefaultConfig);
-
-          // additionally set context variables
-          mergedConfig.putAll(environmentContextProperties);
-          mergedConfig.putAll(ContextPropertiesBuilder.buildCurrentContextVariables(node, nodeRole));
-
-          // collect role and tenant information for export model
-          ExportNodeRoleData exportNodeRoleData = exportModelGenerator.addRole(roleName, variants, mergedConfig);
-
-          // generate files
-          List<GeneratedFileContext> allFiles = new ArrayList<>();
-          for (RoleFile roleFile : role.getFiles()) {
-            // generate file if no variant is required, or at least one of the given variants is defined for the node/role
-            if (RoleUtil.matchesRoleFile(roleFile, variants)) {
-              Template template = getHandlebarsTemplate(role, roleFile, nodeRole);
-              multiplyFiles(role, roleFile, mergedConfig, nodeDir, template,
-                  roleName, variants, roleFile.getTemplate(), allFiles);
-            }
+        }
+        List<GeneratedFileContext> allFiles = pipeline.getGeneratedFiles();
+
+        // check for path duplicates
+        allFiles.forEach(generatedFileContext -> {
+          String path = generatedFileContext.getFileContext().getCanonicalPath();
+          if (!generatedFilePaths.add(path)) {
+            nodeLog.warn("File was generated already, check for file name clashes: {}", path);
           }
+        });
 
-          // filter out result files probably deleted by other file definitions
-          allFiles = allFiles.stream()
-              .filter(generatedFile -> generatedFile.getFileContext().getFile().exists())
-              .collect(Collectors.toList());
+        // filter out result files probably deleted by other file definitions
+        allFiles = allFiles.stream()
+            .filter(generatedFile -> generatedFile.getFileContext().getFile().exists())
+            .collect(Collectors.toList());
 
-          exportNodeRoleData.files(allFiles);
-        }
+        exportNodeRoleData.files(allFiles);
       }
-
-      // save export model
-      exportModelGenerator.generate();
-    }
-    finally {
-      this.urlFilePluginContext.baseNodeDir(null);
     }
+
+    // save export model
+    exportModelGenerator.generate();
   }
 
-  private RoleVariant getRoleVariant(Role role, String variant, String roleName, Node node) {
-    for (RoleVariant roleVariant : role.getVariants()) {
-      if (StringUtils.equals(variant, roleVariant.getVariant())) {
-        return roleVariant;
+  /**
+   * Get merged default config of role and the given variants. The result is cached per role and variant list.
+   * @return Read-only default config
+   */
+  private Map<String, Object> getRoleDefaultConfig(Role role, List<String> variants, String roleName, Node node) {
+    RoleIndex roleIndex = roleIndexes.computeIfAbsent(role, RoleIndex::new);
+    Map<String, Object> roleDefaultConfig = roleIndex.defaultConfigs.get(variants);
+    if (roleDefaultConfig == null) {
+      // default config in variants has higher precedence than config in the role itself
+      // variants listed first have higher precedence than variants listed last
+      // the merged config is built as layered view on the source maps to avoid deep-copying them for each node role
+      roleDefaultConfig = Collections.emptyMap();
+      for (String variant : variants) {
+        RoleVariant roleVariant = getRoleVariant(roleIndex, variant, roleName, node);
+        roleDefaultConfig = new LayeredMap<>(roleDefaultConfig, roleVariant.getConfig());
+      }
+      roleDefaultConfig = new LayeredMap<>(roleDefaultConfig, role.getConfig());
+      Map<String, Object> existing = roleIndex.defaultConfigs.putIfAbsent(new ArrayList<>(variants), roleDefaultConfig);
+      if (existing != null) {
+        roleDefaultConfig = existing;
       }
     }
+    return roleDefaultConfig;
+  }
+
+  private RoleVariant getRoleVariant(RoleIndex roleIndex, String variant, String roleName, Node node) {
+    RoleVariant roleVariant = roleIndex.variants.get(variant);
+    if (roleVariant != null) {
+      return roleVariant;
+    }
     throw new GeneratorException("Variant '" + variant + "' for role '" + roleName + "' "
         + "from " + environmentName + "/" + node.getNode() + " does not exist.");
   }
@@ -298,6 +464,63 @@ final class EnvironmentGenerator {
     }
   }
 
+  /**
+   * Build fingerprint of the plugin configuration and the versions of all plugins that contribute to generated files.
+   * A file has to be generated again if a plugin is updated or its configuration changed.
+   * @return Fingerprint
+   */
+  private String buildPluginFingerprint() {
+    FingerprintBuilder fingerprint = new FingerprintBuilder()
+        .add(pluginContextOptions.getGenericPluginConfig())
+        .add(pluginContextOptions.getValueProviderConfig());
+    for (Class<? extends Plugin> pluginType : FINGERPRINT_PLUGIN_TYPES) {
+      for (Plugin plugin : options.getPluginManager().getAll(pluginType)) {
+        Package pluginPackage = plugin.getClass().getPackage();
+        fingerprint.add(plugin.getName())
+            .add(plugin.getClass().getName())
+            .add(pluginPackage != null ? pluginPackage.getImplementationVersion() : null);
+      }
+    }
+    return fingerprint.build();
+  }
+
+  /**
+   * Build fingerprint of all inputs of a file generated from a template except the configuration.
+   * @return Fingerprint or null if the file cannot be generated incrementally
+   */
+  private String getInputFingerprint(Role role, RoleFile roleFile, NodeRole nodeRole, String roleName, List<String> variants) {
+    if (!options.isIncremental()) {
+      return null;
+    }
+    String templateFile = FileUtil.getTemplatePath(role, roleFile);
+    if (StringUtils.isEmpty(templateFile)) {
+      return null;
+    }
+    String templateFingerprint;
+    try {
+      templateFingerprint = handlebarsManager.getTemplateFingerprint(templateFile, roleFile.getCharset());
+    }
+    catch (IOException ex) {
+      throw new GeneratorException("Unable to read handlebars template: " + FileUtil.getFileInfo(nodeRole, roleFile), ex);
+    }
+    if (templateFingerprint == null) {
+      return null;
+    }
+    return new FingerprintBuilder()
+        .add(templateFingerprint)
+        .add(roleFile)
+        .add(getEscapingStrategy(roleFile))
+        .add(environmentName)
+        .add(roleName)
+        .add(variants)
+        .add(options.getVersion())
+        .add(options.getContainerVersionInfo())
+        .add(dependencyVersions)
+        .add(EnvironmentGenerator.class.getPackage().getImplementationVersion())
+        .add(pluginFingerprint)
+        .build();
+  }
+
   /**
    * Get escaping strategy for file. If one is explicitly defined in role definition use this.
    * Otherwise get the best-matching by file extension.
@@ -319,29 +542,30 @@ final class EnvironmentGenerator {
   }
 
   @SuppressWarnings("java:S107") // allow many parameters
-  private void multiplyFiles(Role role, RoleFile roleFile, Map<String, Object> config, File nodeDir, Template template,
-      String roleName, List<String> roleVariantNames, String templateName, List<GeneratedFileContext> generatedFiles) {
+  private void multiplyFiles(Role role, RoleFile roleFile, Map<String, Object> config, NodeContext nodeContext,
+      Template template, String inputFingerprint, String roleName, List<String> roleVariantNames, String templateName,
+      FileGeneratorPipeline pipeline, FileConfigCache fileConfigCache, MapMergeCache mapMergeCache) {
     MultiplyPlugin multiplyPlugin = defaultMultiplyPlugin;
     if (StringUtils.isNotEmpty(roleFile.getMultiply())) {
       multiplyPlugin = options.getPluginManager().get(roleFile.getMultiply(), MultiplyPlugin.class);
     }
 
     MultiplyContext multiplyContext = new MultiplyContext()
-        .pluginContextOptions(this.pluginContextOptions)
+        .pluginContextOptions(nodeContext.pluginContextOptions)
         .role(role)
         .roleFile(roleFile)
         .environment(environment)
         .config(config)
         .variableStringResolver(variableStringResolver)
-        .variableMapResolver(variableMapResolver);
+        .variableMapResolver(variableMapResolver)
+        .mapMergeCache(mapMergeCache);
 
     List<Map<String, Object>> muliplyConfigs = multiplyPlugin.multiply(multiplyContext);
     int index = 0;
     for (Map<String, Object> muliplyConfig : muliplyConfigs) {
 
-      // resolve variables
-      Map<String, Object> resolvedConfig = variableMapResolver.resolve(muliplyConfig, false);
-      resolvedConfig.put(ContextProperties.MULTIPLY_INDEX, index);
+      // resolve variables - shared with other files of the node role using the same config
+      Map<String, Object> resolvedConfig = fileConfigCache.resolveConfig(muliplyConfig, index);
 
       // skip file if condition does not evaluate to a non-empty string or is "false"
       boolean skip = false;
@@ -357,28 +581,27 @@ final class EnvironmentGenerator {
         String url = variableStringResolver.resolveString(roleFile.getUrl(), resolvedConfig);
         String symlinkTarget = variableStringResolver.resolveString(roleFile.getSymlinkTarget(), resolvedConfig);
 
-        generatedFiles.addAll(generateFile(roleFile, dir, file, url, symlinkTarget,
-            resolvedConfig, nodeDir, template, roleName, roleVariantNames, templateName));
+        generateFile(roleFile, dir, file, url, symlinkTarget,
+            resolvedConfig, nodeContext, template, inputFingerprint, roleName, roleVariantNames, templateName,
+            pipeline, fileConfigCache);
 
         index++;
       }
     }
   }
 
-  @SuppressWarnings({
-      "PMD.PreserveStackTrace",
-      "java:S107" // allow many parameters
-  })
-  @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-  private Collection<GeneratedFileContext> generateFile(RoleFile roleFile, String dir,
+  @SuppressWarnings("java:S107") // allow many parameters
+  private void generateFile(RoleFile roleFile, String dir,
       String fileName, String url, String symlinkTarget,
-      Map<String, Object> config, File nodeDir, Template template,
-      String roleName, List<String> roleVariantNames, String templateName) {
+      Map<String, Object> config, NodeContext nodeContext, Template template, String inputFingerprint,
+      String roleName, List<String> roleVariantNames, String templateName, FileGeneratorPipeline pipeline,
+      FileConfigCache fileConfigCache) {
+    File nodeDir = nodeContext.nodeDir;
 
     String generatedFileName = fileName;
     if (StringUtils.isBlank(generatedFileName) && StringUtils.isNotBlank(url)) {
       try {
-        generatedFileName = urlFileManager.getFileName(url);
+        generatedFileName = nodeContext.urlFileManager.getFileName(url);
       }
       catch (IOException ex) {
         throw new GeneratorException("Unable to get file name from URL: " + url, ex);
@@ -386,42 +609,53 @@ final class EnvironmentGenerator {
     }
 
     File file = new File(nodeDir, dir != null ? FilenameUtils.concat(dir, generatedFileName) : generatedFileName);
-    if (file.exists()) {
-      try {
-        Files.delete(file.toPath());
-      }
-      catch (IOException ex) {
-        throw new GeneratorException("Unable to delete: " + FileUtil.getCanonicalPath(file), ex);
-      }
-    }
 
-    FileGenerator fileGenerator = new FileGenerator(options, environmentName,
+    // symlinks and files copied from the node directory may point to other generated files,
+    // and source files may be deleted - generate them after all pending files
+    boolean barrier = StringUtils.isNotBlank(symlinkTarget) || roleFile.isDeleteSource()
+        || nodeContext.urlFileManager.isNodeFile(url);
+
+    pipeline.add(file, barrier, fileLog -> new FileGenerator(options, environmentName,
         roleName, roleVariantNames, templateName,
         nodeDir, file, url, symlinkTarget,
         roleFile, config, template,
-        variableMapResolver, urlFileManager, pluginContextOptions, dependencyVersions);
-    try {
-      Collection<GeneratedFileContext> generatedFiles = fileGenerator.generate();
+        variableMapResolver, fileConfigCache, nodeContext.urlFileManager,
+        new PluginContextOptions().pluginContextOptions(nodeContext.pluginContextOptions).logger(fileLog),
+        dependencyVersions)
+        .incremental(inputFingerprint != null ? generationManifest : null, inputFingerprint, sharedValueFingerprints));
+  }
 
-      // check for path duplicates
-      generatedFiles.forEach(generatedFileContext -> {
-        String path = generatedFileContext.getFileContext().getCanonicalPath();
-        if (generatedFilePaths.contains(path)) {
-          log.warn("File was generated already, check for file name clashes: {}", path);
-        }
-        else {
-          generatedFilePaths.add(path);
-        }
-      });
+  /**
+   * Node-specific state used while generating the files of a node.
+   */
+  private static final class NodeContext {
 
-      return generatedFiles;
-    }
-    catch (ValidationException ex) {
-      throw new GeneratorException("File validation failed " + FileUtil.getCanonicalPath(file) + " - " + ex.getMessage());
+    private final File nodeDir;
+    private final PluginContextOptions pluginContextOptions;
+    private final UrlFileManager urlFileManager;
+
+    NodeContext(File nodeDir, PluginContextOptions pluginContextOptions, UrlFileManager urlFileManager) {
+      this.nodeDir = nodeDir;
+      this.pluginContextOptions = pluginContextOptions;
+      this.urlFileManager = urlFileManager;
     }
-    /*CHECKSTYLE:OFF*/ catch (Exception ex) { /*CHECKSTYLE:ON*/
-      throw new GeneratorException("Unable to generate file: " + FileUtil.getCanonicalPath(file) + "\n" + ex.getMessage(), ex);
+
+  }
+
+  /**
+   * Variants of a resolved role indexed by name, and merged default config per list of variants.
+   */
+  private static final class RoleIndex {
+
+    private final Map<String, RoleVariant> variants = new HashMap<>();
+    private final Map<List<String>, Map<String, Object>> defaultConfigs = new ConcurrentHashMap<>();
+
+    RoleIndex(Role role) {
+      for (RoleVariant roleVariant : role.getVariants()) {
+        variants.putIfAbsent(roleVariant.getVariant(), roleVariant);
+      }
     }
+
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,146 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.wcm.devops.conga.generator.util.VariableMapResolver;
+import io.wcm.devops.conga.model.util.LayeredMap;
+import io.wcm.devops.conga.model.util.PersistentMap;
+
+/**
+ * Resolved configuration and validator/post processor options of the files of a node role.
+ * <p>
+ * Files generated from the same multiplied configuration share the same resolved configuration. Validator and
+ * post processor options are resolved on top of it only when a plugin accesses them, and are shared between all
+ * files with equal options and the same resolved configuration.
+ * </p>
+ */
+final class FileConfigCache {
+
+  private final VariableMapResolver variableMapResolver;
+  // only accessed from the thread generating the node role
+  private final Map<ConfigKey, Map<String, Object>> resolvedConfigs = new HashMap<>();
+  // accessed from the threads applying validators and post processors
+  private final Map<OptionsKey, Map<String, Object>> resolvedOptions = new ConcurrentHashMap<>();
+
+  /**
+   * @param variableMapResolver Variable map resolver
+   */
+  FileConfigCache(VariableMapResolver variableMapResolver) {
+    this.variableMapResolver = variableMapResolver;
+  }
+
+  /**
+   * Resolve variables in configuration returned by multiply plugin and set multiply index.
+   * @param config Configuration (unresolved)
+   * @param multiplyIndex Multiply index
+   * @return Resolved configuration
+   */
+  @SuppressWarnings("unchecked")
+  Map<String, Object> resolveConfig(Map<String, Object> config, int multiplyIndex) {
+    return resolvedConfigs.computeIfAbsent(new ConfigKey(config, multiplyIndex), key -> {
+      Map<String, Object> resolvedConfig = variableMapResolver.resolve(config, false);
+      if (resolvedConfig instanceof PersistentMap) {
+        return ((PersistentMap<String, Object>)resolvedConfig).with(ContextProperties.MULTIPLY_INDEX, multiplyIndex);
+      }
+      // copy - the resolved configuration may be the map returned by the multiply plugin
+      Map<String, Object> indexedConfig = new LinkedHashMap<>(resolvedConfig);
+      indexedConfig.put(ContextProperties.MULTIPLY_INDEX, multiplyIndex);
+      return indexedConfig;
+    });
+  }
+
+  /**
+   * Get supplier for validator or post processor options that resolves them on first access.
+   * @param options Options from role file
+   * @param config Resolved configuration of file (not de-escaped)
+   * @return Supplier of resolved options
+   */
+  Supplier<Map<String, Object>> getOptions(Map<String, Object> options, Map<String, Object> config) {
+    OptionsKey optionsKey = new OptionsKey(options, config);
+    return () -> resolvedOptions.computeIfAbsent(optionsKey,
+        key -> variableMapResolver.resolve(new LayeredMap<>(options, config)));
+  }
+
+  private static final class ConfigKey {
+
+    private final Map<String, Object> config;
+    private final int multiplyIndex;
+    private final int hashCode;
+
+    ConfigKey(Map<String, Object> config, int multiplyIndex) {
+      this.config = config;
+      this.multiplyIndex = multiplyIndex;
+      this.hashCode = 31 * System.identityHashCode(config) + multiplyIndex;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ConfigKey)) {
+        return false;
+      }
+      ConfigKey other = (ConfigKey)obj;
+      return config == other.config && multiplyIndex == other.multiplyIndex;
+    }
+
+  }
+
+  private static final class OptionsKey {
+
+    private final Map<String, Object> options;
+    private final Map<String, Object> config;
+    private final int hashCode;
+
+    OptionsKey(Map<String, Object> options, Map<String, Object> config) {
+      this.options = options;
+      this.config = config;
+      this.hashCode = 31 * Objects.hashCode(options) + System.identityHashCode(config);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean equals(Object obj) {
+      if (!(obj instanceof OptionsKey)) {
+        return false;
+      }
+      OptionsKey other = (OptionsKey)obj;
+      return config == other.config && Objects.equals(options, other.options);
+    }
+
+  }
+
+}
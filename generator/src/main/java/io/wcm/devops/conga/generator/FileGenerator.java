@@ -19,17 +19,24 @@
  */
 package io.wcm.devops.conga.generator;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -58,12 +65,13 @@ import io.wcm.devops.conga.generator.spi.context.PostProcessorContext;
 import io.wcm.devops.conga.generator.spi.context.ValidatorContext;
 import io.wcm.devops.conga.generator.spi.export.context.GeneratedFileContext;
 import io.wcm.devops.conga.generator.util.FileUtil;
-import io.wcm.devops.conga.generator.util.LineEndingConverter;
+import io.wcm.devops.conga.generator.util.FingerprintBuilder;
+import io.wcm.devops.conga.generator.util.LineEndingWriter;
 import io.wcm.devops.conga.generator.util.PluginManager;
+import io.wcm.devops.conga.generator.util.SharedValueFingerprints;
 import io.wcm.devops.conga.generator.util.VariableMapResolver;
 import io.wcm.devops.conga.model.role.RoleFile;
 import io.wcm.devops.conga.model.util.MapExpander;
-import io.wcm.devops.conga.model.util.MapMerger;
 
 /**
  * Generates file for one environment.
@@ -80,9 +88,11 @@ class FileGenerator {
   private final String url;
   private final String symlinkTarget;
   private final RoleFile roleFile;
+  // configuration before de-escaping variables, it is de-escaped only when the template is rendered
   private final Map<String, Object> config;
   private final Template template;
   private final PluginManager pluginManager;
+  private final VariableMapResolver variableMapResolver;
   private final UrlFileManager urlFileManager;
   private final Logger log;
   private final FileContext fileContext;
@@ -90,9 +100,17 @@ class FileGenerator {
   private final ValidatorContext validatorContext;
   private final PostProcessorContext postProcessorContext;
   private final boolean allowSymlinks;
+  private final boolean writeIfChanged;
+  private File workDir;
+  private FileContext workFileContext;
+  private GenerationManifest generationManifest;
+  private String inputFingerprint;
+  private SharedValueFingerprints sharedValueFingerprints;
+  private String fingerprint;
+  private Collection<GeneratedFileContext> upToDateFiles;
 
   // if the creation of a symlink fails once, do not try it again (esp. e.g. on windows systems)
-  private static boolean symlinkCreationFailed;
+  private static volatile boolean symlinkCreationFailed;
 
   static final String POSTPROCESSOR_KEY_FILE_HEADER = "postProcessor.fileHeader";
   static final String POSTPROCESSOR_KEY_VALIDATORS = "postProcessor.validators";
@@ -102,7 +120,8 @@ class FileGenerator {
       String roleName, List<String> roleVariantNames, String templateName,
       File nodeDir, File file, String url, String symlinkTarget,
       RoleFile roleFile, Map<String, Object> config, Template template,
-      VariableMapResolver variableMapResolver, UrlFileManager urlFileManager, PluginContextOptions pluginContextOptions,
+      VariableMapResolver variableMapResolver, FileConfigCache fileConfigCache,
+      UrlFileManager urlFileManager, PluginContextOptions pluginContextOptions,
       Collection<String> dependencyVersions) {
     this.environmentName = environmentName;
     this.roleName = roleName;
@@ -115,8 +134,9 @@ class FileGenerator {
     this.roleFile = roleFile;
     this.template = template;
     this.pluginManager = options.getPluginManager();
+    this.variableMapResolver = variableMapResolver;
     this.urlFileManager = urlFileManager;
-    this.log = options.getLogger();
+    this.log = pluginContextOptions.getLogger();
     this.fileContext = new FileContext()
         .file(file)
         .charset(roleFile.getCharset())
@@ -134,16 +154,34 @@ class FileGenerator {
         .pluginContextOptions(pluginContextOptionsForPlugin)
         .commentLines(buildFileHeaderCommentLines(options.getVersion(), dependencyVersions));
 
+    // validator and post processor options are only resolved if a plugin accesses them, and shared with other files of the node role
     this.validatorContext = new ValidatorContext()
         .pluginContextOptions(pluginContextOptionsForPlugin)
-        .options(variableMapResolver.resolve(MapMerger.merge(roleFile.getValidatorOptions(), config)));
+        .optionsSupplier(fileConfigCache.getOptions(roleFile.getValidatorOptions(), config));
 
     this.postProcessorContext = new PostProcessorContext()
         .pluginContextOptions(pluginContextOptionsForPlugin)
-        .options(variableMapResolver.resolve(MapMerger.merge(roleFile.getPostProcessorOptions(), config)));
+        .optionsSupplier(fileConfigCache.getOptions(roleFile.getPostProcessorOptions(), config));
 
-    this.config = variableMapResolver.deescape(config);
+    this.config = config;
     this.allowSymlinks = options.isAllowSymlinks();
+    this.writeIfChanged = options.isWriteIfChanged();
+  }
+
+  /**
+   * Enable incremental generation for this file. It is skipped if the fingerprint of all inputs matches
+   * the fingerprint stored in the generation manifest.
+   * @param manifest Generation manifest
+   * @param fileInputFingerprint Fingerprint of the template, role file definition and versions (excluding configuration)
+   * @param environmentSharedValueFingerprints Fingerprints of context values shared by all files of the environment
+   * @return this
+   */
+  FileGenerator incremental(GenerationManifest manifest, String fileInputFingerprint,
+      SharedValueFingerprints environmentSharedValueFingerprints) {
+    this.generationManifest = manifest;
+    this.inputFingerprint = fileInputFingerprint;
+    this.sharedValueFingerprints = environmentSharedValueFingerprints;
+    return this;
   }
 
   /**
@@ -204,18 +242,46 @@ class FileGenerator {
    * Generate file(s).
    * @return List of files that where generated directly or indirectly (by post processors).
    */
+  public Collection<GeneratedFileContext> generate() throws IOException {
+    render();
+    return process();
+  }
+
+  /**
+   * Generate the file itself from template, URL or symlink target.
+   */
   @SuppressFBWarnings({ "ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD", "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE" })
   @SuppressWarnings({
       "java:S3776", // ignore complexity
       "java:S2696" // static variable set by intention
   })
-  public Collection<GeneratedFileContext> generate() throws IOException {
+  void render() throws IOException {
+    if (template != null && generationManifest != null) {
+      fingerprint = new FingerprintBuilder(sharedValueFingerprints)
+          .add(inputFingerprint)
+          .add(config)
+          .build();
+      upToDateFiles = generationManifest.getUpToDateFiles(file, fingerprint);
+      if (upToDateFiles != null) {
+        if (log.isInfoEnabled()) {
+          log.info("Skip unchanged file {}", getFilenameForLog(fileContext));
+        }
+        return;
+      }
+      generationManifest.remove(file);
+    }
+
+    // in write-if-changed mode the existing file is replaced after generation only if the content differs
+    boolean replaceExisting = writeIfChanged && template != null;
+    if (!replaceExisting && file.exists()) {
+      Files.delete(file.toPath());
+    }
+
     File dir = file.getParentFile();
     if (!dir.exists()) {
       dir.mkdirs();
     }
 
-    Collection<GeneratedFileContext> postProcessedFiles;
     if (template != null) {
       if (log.isInfoEnabled()) {
         log.info("Generate file {}", getFilenameForLog(fileContext));
@@ -223,12 +289,6 @@ class FileGenerator {
 
       // generate with template
       generateWithTemplate();
-
-      // add file header, validate and post-process generated file
-      applyFileHeader(fileContext, roleFile.getFileHeader());
-      applyValidation(fileContext, roleFile.getValidators());
-      postProcessedFiles = applyPostProcessor(fileContext);
-
     }
     else if (StringUtils.isNotBlank(url)) {
 
@@ -253,37 +313,183 @@ class FileGenerator {
         }
         copyFromUrlFile();
       }
-
-      // post-process downloaded or symlinked file
-      postProcessedFiles = applyPostProcessor(fileContext);
     }
     else if (StringUtils.isNotBlank(symlinkTarget)) {
 
       // create a symlink pointing to the given target
       createSymlinkToSymlinkTarget();
 
-      // post-process symlinked file
-      postProcessedFiles = applyPostProcessor(fileContext);
-
     }
     else {
       throw new IOException("No template, URL or symlink target defined for file: " + FileUtil.getFileInfo(roleName, roleFile));
     }
+  }
 
-    return postProcessedFiles;
+  /**
+   * Add file header and validate file generated by template, and post-process generated file.
+   * @return List of files that where generated directly or indirectly (by post processors).
+   */
+  Collection<GeneratedFileContext> process() throws IOException {
+    if (upToDateFiles != null) {
+      return upToDateFiles;
+    }
+    if (template != null) {
+      FileContext templateFileContext = workFileContext != null ? workFileContext : fileContext;
+      try {
+        applyFileHeader(templateFileContext, roleFile.getFileHeader());
+        applyValidation(templateFileContext, roleFile.getValidators());
+        if (workFileContext != null) {
+          replaceIfChanged(workFileContext.getFile());
+        }
+        else if (fileContext.hasContentBuffer()) {
+          writeContentBuffer();
+        }
+      }
+      catch (RuntimeException ex) {
+        // keep invalid file on disk for analysis
+        if (!writeIfChanged) {
+          fileContext.flush();
+        }
+        throw ex;
+      }
+      finally {
+        fileContext.content(null);
+        deleteWorkDir();
+      }
+    }
+    Collection<GeneratedFileContext> generatedFiles = applyPostProcessor(fileContext);
+    if (fingerprint != null) {
+      generationManifest.put(file, fingerprint, generatedFiles);
+    }
+    return generatedFiles;
   }
 
   /**
    * Generate file with handlebars template.
    * Use unix file endings by default.
+   * If all file header and validator plugins support it, the content is kept in memory until file header and
+   * validation are applied. Otherwise in write-if-changed mode the file is generated in a temporary directory
+   * next to the target file.
    */
   private void generateWithTemplate() throws IOException {
-    try (FileOutputStream fos = new FileOutputStream(file);
-        Writer fileWriter = new OutputStreamWriter(fos, roleFile.getCharset())) {
-      StringWriter stringWriter = new StringWriter();
-      template.apply(config, stringWriter);
-      fileWriter.write(normalizeLineEndings(stringWriter.toString()));
-      fileWriter.flush();
+    if (isContentBufferSupported()) {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream();
+      renderTemplate(bos);
+      fileContext.content(bos.toByteArray());
+      return;
+    }
+
+    File targetFile = file;
+    if (writeIfChanged) {
+      workDir = Files.createTempDirectory(file.getParentFile().toPath(), ".conga-").toFile();
+      targetFile = new File(workDir, file.getName());
+      workFileContext = new FileContext()
+          .file(targetFile)
+          .charset(roleFile.getCharset())
+          .modelOptions(roleFile.getModelOptions())
+          .targetDir(nodeDir);
+    }
+    try (OutputStream os = new BufferedOutputStream(new FileOutputStream(targetFile))) {
+      renderTemplate(os);
+    }
+    catch (IOException | RuntimeException ex) {
+      deleteWorkDir();
+      throw ex;
+    }
+  }
+
+  /**
+   * Renders the template to the given output stream. The line endings are converted on the fly:
+   * All line endings are normalized and converted to the line-ending style as requested in the template definition.
+   * @param os Output stream
+   * @throws IOException I/O exception
+   */
+  private void renderTemplate(OutputStream os) throws IOException {
+    try (Writer writer = new BufferedWriter(new LineEndingWriter(
+        new OutputStreamWriter(os, roleFile.getCharset()), roleFile.getLineEndings()))) {
+      template.apply(variableMapResolver.deescape(config), writer);
+    }
+  }
+
+  /**
+   * Replaces the target file with the generated work file if the content differs.
+   * Otherwise the existing file is kept untouched to preserve it's last modified date.
+   * @param workFile Generated file in work directory
+   * @throws IOException I/O exception
+   */
+  private void replaceIfChanged(File workFile) throws IOException {
+    Path targetPath = file.toPath();
+    if (Files.isRegularFile(targetPath, LinkOption.NOFOLLOW_LINKS)
+        && Files.size(targetPath) == Files.size(workFile.toPath())
+        && FileUtils.contentEquals(workFile, file)) {
+      logUnchanged();
+      return;
+    }
+    replaceFile(workFile.toPath());
+  }
+
+  /**
+   * Writes the content buffer to the target file. In write-if-changed mode the target file is only replaced
+   * if the content differs.
+   * @throws IOException I/O exception
+   */
+  private void writeContentBuffer() throws IOException {
+    if (!writeIfChanged) {
+      fileContext.flush();
+      return;
+    }
+    byte[] content = fileContext.getContent();
+    fileContext.content(null);
+    Path targetPath = file.toPath();
+    if (Files.isRegularFile(targetPath, LinkOption.NOFOLLOW_LINKS)
+        && Files.size(targetPath) == content.length
+        && Arrays.equals(Files.readAllBytes(targetPath), content)) {
+      logUnchanged();
+      return;
+    }
+    Path tempFile = Files.createTempFile(targetPath.getParent(), ".conga-", ".tmp");
+    try {
+      Files.write(tempFile, content);
+      replaceFile(tempFile);
+    }
+    finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  private void replaceFile(Path source) throws IOException {
+    Path targetPath = file.toPath();
+    try {
+      Files.move(source, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source, targetPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private void logUnchanged() {
+    if (log.isDebugEnabled()) {
+      log.debug("  File {} is unchanged", getFilenameForLog(fileContext));
+    }
+  }
+
+  /**
+   * Checks if all file header and validator plugins that apply to the file support an in-memory content buffer.
+   * @return true if content buffer is supported
+   */
+  private boolean isContentBufferSupported() {
+    return Stream.concat(
+        collectFilePlugins(FileHeaderPlugin.class, fileContext, fileHeaderContext, getFileHeaderPluginNames(roleFile.getFileHeader()))
+            .filter(plugin -> !StringUtils.equals(plugin.getName(), NoneFileHeader.NAME)),
+        collectFilePlugins(ValidatorPlugin.class, fileContext, validatorContext, roleFile.getValidators())
+            .filter(plugin -> !StringUtils.equals(plugin.getName(), NoneValidator.NAME)))
+        .allMatch(FilePlugin::supportsContentBuffer);
+  }
+
+  private void deleteWorkDir() {
+    if (workDir != null) {
+      FileUtils.deleteQuietly(workDir);
+      workDir = null;
     }
   }
 
@@ -346,13 +552,6 @@ class FileGenerator {
     }
   }
 
-  private String normalizeLineEndings(String value) {
-    // convert/normalize all line endings to unix style
-    String normalizedLineEndings = LineEndingConverter.normalizeToUnix(value);
-    // and then to the line-ending style as requested in the tempalte definition
-    return LineEndingConverter.convertTo(normalizedLineEndings, roleFile.getLineEndings());
-  }
-
   /**
    * Collect all file plugins that are either configured explicitely, or apply implicitely, or should always apply.
    * @param pluginClass File plugin class
@@ -384,12 +583,16 @@ class FileGenerator {
           .filter(plugin -> plugin.implicitApply(fileItem, contextObject) == ImplicitApplyOptions.ALWAYS));
   }
 
-  private void applyFileHeader(FileContext fileItem, String pluginName) {
+  private static List<String> getFileHeaderPluginNames(String pluginName) {
     List<String> pluginNames = new ArrayList<>();
     if (!StringUtils.isEmpty(pluginName)) {
       pluginNames.add(pluginName);
     }
-    collectFilePlugins(FileHeaderPlugin.class, fileItem, fileHeaderContext, pluginNames)
+    return pluginNames;
+  }
+
+  private void applyFileHeader(FileContext fileItem, String pluginName) {
+    collectFilePlugins(FileHeaderPlugin.class, fileItem, fileHeaderContext, getFileHeaderPluginNames(pluginName))
         .filter(plugin -> !StringUtils.equals(plugin.getName(), NoneFileHeader.NAME))
         .forEach(plugin -> applyFileHeader(fileItem, plugin));
   }
@@ -529,6 +732,9 @@ class FileGenerator {
   }
 
   private String getFilenameForLog(FileContext fileItem) {
+    if (fileItem == workFileContext) {
+      return getFilenameForLog(fileContext);
+    }
     return StringUtils.substring(fileItem.getCanonicalPath(), FileUtil.getCanonicalPath(nodeDir).length() + 1);
   }
 
@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+import io.wcm.devops.conga.generator.spi.ValidationException;
+import io.wcm.devops.conga.generator.spi.export.context.GeneratedFileContext;
+import io.wcm.devops.conga.generator.util.FileUtil;
+
+/**
+ * Generates the files of a node role.
+ * <p>
+ * If executors are given, files are rendered in parallel using the render executor, and file header, validation
+ * and post-processing is applied on the process executor. The generated files are always returned in the order
+ * the files were added, and the log output of each file is written in this order as well.
+ * </p>
+ * <p>
+ * Files that depend on other files (e.g. symlinks to other generated files) or that are generated to the same path
+ * as another pending file act as barrier: All pending files are completed before they are generated.
+ * </p>
+ */
+final class FileGeneratorPipeline {
+
+  private final ExecutorService renderExecutor;
+  private final ExecutorService processExecutor;
+  private final Logger log;
+  private final List<PendingFile> pendingFiles = new ArrayList<>();
+  private final Set<String> pendingPaths = new HashSet<>();
+  private final List<GeneratedFileContext> generatedFiles = new ArrayList<>();
+
+  /**
+   * @param renderExecutor Executor for rendering files. If null all files are generated sequentially.
+   * @param processExecutor Executor for file header, validation and post-processing
+   * @param log Logger
+   */
+  FileGeneratorPipeline(ExecutorService renderExecutor, ExecutorService processExecutor, Logger log) {
+    this.renderExecutor = renderExecutor;
+    this.processExecutor = processExecutor;
+    this.log = log;
+  }
+
+  /**
+   * Add file to generate.
+   * @param file File to generate
+   * @param barrier Complete all pending files before generating this file
+   * @param fileGeneratorFactory Creates the file generator using the given logger
+   */
+  void add(File file, boolean barrier, Function<Logger, FileGenerator> fileGeneratorFactory) {
+    if (renderExecutor == null) {
+      generatedFiles.addAll(generate(file, fileGeneratorFactory.apply(log)));
+      return;
+    }
+
+    String path = FileUtil.getCanonicalPath(file);
+    if (barrier || pendingPaths.contains(path)) {
+      awaitPendingFiles();
+      generatedFiles.addAll(generate(file, fileGeneratorFactory.apply(log)));
+      return;
+    }
+
+    BufferedLoggerFacade fileLog = new BufferedLoggerFacade(log);
+    CompletableFuture<Collection<GeneratedFileContext>> result = CompletableFuture
+        .supplyAsync(() -> {
+          FileGenerator fileGenerator = fileGeneratorFactory.apply(fileLog);
+          render(file, fileGenerator);
+          return fileGenerator;
+        }, renderExecutor)
+        .thenApplyAsync(fileGenerator -> process(file, fileGenerator), processExecutor);
+    pendingFiles.add(new PendingFile(result, fileLog));
+    pendingPaths.add(path);
+  }
+
+  /**
+   * Waits for all pending files.
+   * @return All files generated directly or indirectly (by post processors) in the order the files were added.
+   */
+  List<GeneratedFileContext> getGeneratedFiles() {
+    awaitPendingFiles();
+    return generatedFiles;
+  }
+
+  private void awaitPendingFiles() {
+    try {
+      for (PendingFile pendingFile : pendingFiles) {
+        try {
+          generatedFiles.addAll(pendingFile.result.join());
+        }
+        catch (CompletionException ex) {
+          throw ParallelExecutor.unwrap(ex.getCause());
+        }
+        finally {
+          pendingFile.log.flush();
+        }
+      }
+    }
+    finally {
+      pendingFiles.clear();
+      pendingPaths.clear();
+    }
+  }
+
+  private static Collection<GeneratedFileContext> generate(File file, FileGenerator fileGenerator) {
+    render(file, fileGenerator);
+    return process(file, fileGenerator);
+  }
+
+  private static void render(File file, FileGenerator fileGenerator) {
+    try {
+      fileGenerator.render();
+    }
+    /*CHECKSTYLE:OFF*/ catch (Exception ex) { /*CHECKSTYLE:ON*/
+      throw new GeneratorException("Unable to generate file: " + FileUtil.getCanonicalPath(file) + "\n" + ex.getMessage(), ex);
+    }
+  }
+
+  @SuppressWarnings("PMD.PreserveStackTrace")
+  private static Collection<GeneratedFileContext> process(File file, FileGenerator fileGenerator) {
+    try {
+      return fileGenerator.process();
+    }
+    catch (ValidationException ex) {
+      throw new GeneratorException("File validation failed " + FileUtil.getCanonicalPath(file) + " - " + ex.getMessage());
+    }
+    /*CHECKSTYLE:OFF*/ catch (Exception ex) { /*CHECKSTYLE:ON*/
+      throw new GeneratorException("Unable to generate file: " + FileUtil.getCanonicalPath(file) + "\n" + ex.getMessage(), ex);
+    }
+  }
+
+  private static final class PendingFile {
+
+    private final CompletableFuture<Collection<GeneratedFileContext>> result;
+    private final BufferedLoggerFacade log;
+
+    PendingFile(CompletableFuture<Collection<GeneratedFileContext>> result, BufferedLoggerFacade log) {
+      this.result = result;
+      this.log = log;
+    }
+
+  }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.ToNumberPolicy;
+
+import io.wcm.devops.conga.generator.spi.context.FileContext;
+import io.wcm.devops.conga.generator.spi.export.context.GeneratedFileContext;
+import io.wcm.devops.conga.generator.util.FileUtil;
+
+/**
+ * Manifest with fingerprints of the inputs of all files generated for an environment in incremental mode.
+ * For each generated file the result of the generation (including files produced by post processors) is stored,
+ * so it can be reused when the file is skipped because it's inputs did not change.
+ * <p>
+ * In sync mode the manifest additionally contains the list of all files generated in the last run, which is used
+ * to detect stale files that are no longer generated.
+ * </p>
+ */
+final class GenerationManifest {
+
+  private static final int MANIFEST_VERSION = 1;
+
+  private static final Gson GSON = new GsonBuilder()
+      .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
+      .create();
+
+  private final File manifestFile;
+  private final File environmentDir;
+  private final String environmentDirPath;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Set<String> generatedFiles = new TreeSet<>();
+
+  private GenerationManifest(File manifestFile, File environmentDir) {
+    this.manifestFile = manifestFile;
+    this.environmentDir = environmentDir;
+    this.environmentDirPath = FileUtil.getCanonicalPath(environmentDir);
+  }
+
+  /**
+   * Load manifest from file. If it does not exist or is invalid an empty manifest is returned.
+   * @param manifestFile Manifest file
+   * @param environmentDir Environment target directory
+   * @param log Logger
+   * @return Manifest
+   */
+  static GenerationManifest load(File manifestFile, File environmentDir, Logger log) {
+    GenerationManifest manifest = new GenerationManifest(manifestFile, environmentDir);
+    if (manifestFile.exists()) {
+      try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+        Content content = GSON.fromJson(reader, Content.class);
+        if (content != null && content.version == MANIFEST_VERSION && content.files != null) {
+          manifest.entries.putAll(content.files);
+        }
+        if (content != null && content.version == MANIFEST_VERSION && content.generatedFiles != null) {
+          manifest.generatedFiles.addAll(content.generatedFiles);
+        }
+      }
+      catch (IOException | JsonParseException ex) {
+        log.warn("Ignoring invalid generation manifest {}: {}", FileUtil.getCanonicalPath(manifestFile), ex.getMessage());
+      }
+    }
+    return manifest;
+  }
+
+  /**
+   * Save manifest to file.
+   */
+  void save() {
+    Content content = new Content();
+    content.version = MANIFEST_VERSION;
+    content.files = new TreeMap<>(entries);
+    content.generatedFiles = new ArrayList<>(generatedFiles);
+    try {
+      File dir = manifestFile.getParentFile();
+      Files.createDirectories(dir.toPath());
+      File tempFile = File.createTempFile(manifestFile.getName(), ".tmp", dir);
+      try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+        GSON.toJson(content, writer);
+      }
+      Files.move(tempFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException ex) {
+      throw new GeneratorException("Unable to write generation manifest: " + FileUtil.getCanonicalPath(manifestFile), ex);
+    }
+  }
+
+  /**
+   * Get files generated from given file in a previous run if the fingerprint of it's inputs did not change
+   * and all files still exist.
+   * @param file Generated file
+   * @param fingerprint Fingerprint of all inputs of the file
+   * @return Generated files or null if the file has to be generated
+   */
+  @SuppressWarnings("java:S1168") // null indicates the file has to be generated
+  Collection<GeneratedFileContext> getUpToDateFiles(File file, String fingerprint) {
+    Entry entry = entries.get(getRelativePath(file));
+    if (entry == null || !StringUtils.equals(entry.fingerprint, fingerprint) || entry.generatedFiles == null) {
+      return null;
+    }
+    List<GeneratedFileContext> result = new ArrayList<>();
+    for (GeneratedFile generatedFile : entry.generatedFiles) {
+      File resultFile = new File(environmentDir, generatedFile.path);
+      if (!resultFile.exists()) {
+        return null;
+      }
+      FileContext fileContext = new FileContext()
+          .file(resultFile)
+          .charset(generatedFile.charset)
+          .modelOptions(generatedFile.modelOptions != null ? new LinkedHashMap<>(generatedFile.modelOptions) : new LinkedHashMap<>())
+          .targetDir(generatedFile.targetDir != null ? new File(environmentDir, generatedFile.targetDir) : null);
+      GeneratedFileContext generatedFileContext = new GeneratedFileContext().fileContext(fileContext);
+      if (generatedFile.postProcessors != null) {
+        generatedFile.postProcessors.forEach(generatedFileContext::postProcessor);
+      }
+      result.add(generatedFileContext);
+    }
+    return result;
+  }
+
+  /**
+   * Store result of file generation.
+   * @param file Generated file
+   * @param fingerprint Fingerprint of all inputs of the file
+   * @param generatedFiles Files generated directly or indirectly (by post processors)
+   */
+  void put(File file, String fingerprint, Collection<GeneratedFileContext> generatedFiles) {
+    String key = getRelativePath(file);
+    List<GeneratedFile> items = new ArrayList<>();
+    for (GeneratedFileContext generatedFileContext : generatedFiles) {
+      FileContext fileContext = generatedFileContext.getFileContext();
+      if (!fileContext.getFile().exists()) {
+        continue;
+      }
+      // only store results that can be restored completely
+      if (!isJsonValue(fileContext.getModelOptions())) {
+        entries.remove(key);
+        return;
+      }
+      GeneratedFile item = new GeneratedFile();
+      item.path = getRelativePath(fileContext.getFile());
+      item.charset = fileContext.getCharset();
+      item.modelOptions = fileContext.getModelOptions();
+      item.targetDir = fileContext.getTargetDir() != null ? getRelativePath(fileContext.getTargetDir()) : null;
+      item.postProcessors = new ArrayList<>(generatedFileContext.getPostProcessors());
+      items.add(item);
+    }
+    Entry entry = new Entry();
+    entry.fingerprint = fingerprint;
+    entry.generatedFiles = items;
+    entries.put(key, entry);
+  }
+
+  /**
+   * Remove result of file generation.
+   * @param file Generated file
+   */
+  void remove(File file) {
+    entries.remove(getRelativePath(file));
+  }
+
+  /**
+   * Update list of all files generated for the environment.
+   * @param files Canonical paths of all files generated in this run
+   * @param dirs Directories generated in this run. Files from previous runs outside these directories are kept.
+   * @return Files from the previous run inside the given directories that were not generated in this run
+   */
+  List<File> updateGeneratedFiles(Collection<String> files, Collection<File> dirs) {
+    List<String> dirPaths = dirs.stream()
+        .map(dir -> getRelativePath(dir) + "/")
+        .collect(Collectors.toList());
+    Set<String> currentFiles = files.stream()
+        .map(this::getRelativePath)
+        .collect(Collectors.toSet());
+
+    List<File> staleFiles = new ArrayList<>();
+    Iterator<String> previousFiles = generatedFiles.iterator();
+    while (previousFiles.hasNext()) {
+      String path = previousFiles.next();
+      if (!currentFiles.contains(path) && dirPaths.stream().anyMatch(path::startsWith)) {
+        staleFiles.add(new File(environmentDir, path));
+        previousFiles.remove();
+      }
+    }
+    generatedFiles.addAll(currentFiles);
+    return staleFiles;
+  }
+
+  private String getRelativePath(File file) {
+    return getRelativePath(FileUtil.getCanonicalPath(file));
+  }
+
+  private String getRelativePath(String canonicalPath) {
+    String path = canonicalPath;
+    if (StringUtils.startsWith(path, environmentDirPath + File.separator)) {
+      path = path.substring(environmentDirPath.length() + 1);
+    }
+    return FilenameUtils.separatorsToUnix(path);
+  }
+
+  private static boolean isJsonValue(Object value) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+      return true;
+    }
+    if (value instanceof Map) {
+      return ((Map<?, ?>)value).entrySet().stream()
+          .allMatch(entry -> entry.getKey() instanceof String && isJsonValue(entry.getValue()));
+    }
+    if (value instanceof List) {
+      return ((List<?>)value).stream().allMatch(GenerationManifest::isJsonValue);
+    }
+    return false;
+  }
+
+  private static final class Content {
+    private int version;
+    private Map<String, Entry> files;
+    private List<String> generatedFiles;
+  }
+
+  private static final class Entry {
+    private String fingerprint;
+    private List<GeneratedFile> generatedFiles;
+  }
+
+  private static final class GeneratedFile {
+    private String path;
+    private String charset;
+    private Map<String, Object> modelOptions;
+    private String targetDir;
+    private List<String> postProcessors;
+  }
+
+}
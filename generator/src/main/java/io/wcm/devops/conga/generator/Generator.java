@@ -21,13 +21,16 @@ package io.wcm.devops.conga.generator;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore;
 import io.wcm.devops.conga.generator.util.FileUtil;
 import io.wcm.devops.conga.model.environment.Environment;
 import io.wcm.devops.conga.model.reader.EnvironmentReader;
@@ -39,6 +42,8 @@ import io.wcm.devops.conga.resource.ResourceLoader;
  */
 public final class Generator {
 
+  private static final String TEMPLATE_METADATA_STORE_FILE = "templates.json";
+
   private final GeneratorOptions options;
   private final File destDir;
   private final Map<String, Environment> environments;
@@ -71,10 +76,8 @@ public final class Generator {
    * @param environmentNames Environments to generate. If none specified all environments are generated.
    * @param nodeNames Node names to generate. If none specified all nodes are generated.
    */
-  @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-  @SuppressWarnings("java:S3776") // ignore complexity
   public void generate(String[] environmentNames, String[] nodeNames) {
-    Map<String, Environment> selectedEnvironments = new HashMap<>();
+    Map<String, Environment> selectedEnvironments = new LinkedHashMap<>();
     if (environmentNames == null || environmentNames.length == 0) {
       selectedEnvironments.putAll(environments);
     }
@@ -87,24 +90,49 @@ public final class Generator {
       }
     }
 
-    for (Map.Entry<String, Environment> entry : selectedEnvironments.entrySet()) {
-      File environmentDestDir = new File(destDir, entry.getKey());
-      // remove existing directory and it's content if it exists alreday
-      if (options.isDeleteBeforeGenerate() && environmentDestDir.exists()) {
-        try {
-          FileUtils.deleteDirectory(environmentDestDir);
-        }
-        catch (IOException ex) {
-          throw new GeneratorException("Unable to delete existing target directory: " + FileUtil.getCanonicalPath(environmentDestDir), ex);
-        }
-      }
-      if (!environmentDestDir.exists()) {
-        environmentDestDir.mkdir();
+    // template metadata from previous runs - shared by all environments, entries are bound to the template source hash
+    TemplateMetadataStore templateMetadataStore = null;
+    if (options.isIncremental()) {
+      templateMetadataStore = TemplateMetadataStore.load(new File(options.getStateDir(), TEMPLATE_METADATA_STORE_FILE), options.getLogger());
+    }
+
+    // generate environments - in parallel if configured, log output is written in order of the environments
+    TemplateMetadataStore environmentTemplateMetadataStore = templateMetadataStore;
+    try {
+      ParallelExecutor.execute(new ArrayList<>(selectedEnvironments.entrySet()), options.getEnvironmentThreads(), options.getLogger(),
+          (entry, log) -> {
+            generateEnvironment(entry.getKey(), entry.getValue(), nodeNames, environmentTemplateMetadataStore, log);
+            return null;
+          });
+    }
+    finally {
+      if (templateMetadataStore != null) {
+        templateMetadataStore.save();
       }
+    }
+  }
 
-      EnvironmentGenerator environmentGenerator = new EnvironmentGenerator(entry.getKey(), entry.getValue(), environmentDestDir, options);
-      environmentGenerator.generate(nodeNames);
+  @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+  private void generateEnvironment(String environmentName, Environment environment, String[] nodeNames,
+      TemplateMetadataStore templateMetadataStore, Logger log) {
+    File environmentDestDir = new File(destDir, environmentName);
+    // remove existing directory and it's content if it exists alreday - not in incremental, write-if-changed or sync mode which reuse existing files
+    if (options.isDeleteBeforeGenerate() && !options.isIncremental() && !options.isWriteIfChanged() && !options.isSync()
+        && environmentDestDir.exists()) {
+      try {
+        FileUtils.deleteDirectory(environmentDestDir);
+      }
+      catch (IOException ex) {
+        throw new GeneratorException("Unable to delete existing target directory: " + FileUtil.getCanonicalPath(environmentDestDir), ex);
+      }
+    }
+    if (!environmentDestDir.exists()) {
+      environmentDestDir.mkdir();
     }
+
+    EnvironmentGenerator environmentGenerator = new EnvironmentGenerator(environmentName, environment, environmentDestDir, options,
+        templateMetadataStore, log);
+    environmentGenerator.generate(nodeNames);
   }
 
 }
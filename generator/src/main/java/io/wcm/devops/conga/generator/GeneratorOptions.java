@@ -59,6 +59,11 @@ public final class GeneratorOptions {
    */
   public static final String CLASSPATH_ENVIRONMENTS_DIR = CLASSPATH_PREFIX + "environments";
 
+  /**
+   * Name of the default state directory inside the destination directory
+   */
+  public static final String DEFAULT_STATE_DIR_NAME = ".conga-state";
+
   private File baseDir;
   private File roleDir;
   private File templateDir;
@@ -67,6 +72,13 @@ public final class GeneratorOptions {
   private boolean deleteBeforeGenerate;
   private String version;
   private boolean allowSymlinks = true;
+  private boolean writeIfChanged;
+  private boolean sync;
+  private int environmentThreads = 1;
+  private int nodeThreads = 1;
+  private int fileThreads = 1;
+  private boolean incremental;
+  private File stateDir;
   private ModelExport modelExport;
   private Map<String, Map<String, Object>> valueProviderConfig;
   private Map<String, Map<String, Object>> genericPluginConfig;
@@ -164,6 +176,8 @@ public final class GeneratorOptions {
 
   /**
    * Set to true when the generate should delete the environment folders before generating new (default: false).
+   * In incremental, write-if-changed or sync mode the environment folders are not deleted - instead only the files
+   * from the previous run that are no longer generated are deleted (see {@link #isSync()}).
    * @return Delete before generate
    */
   public boolean isDeleteBeforeGenerate() {
@@ -213,6 +227,141 @@ public final class GeneratorOptions {
     return this;
   }
 
+  /**
+   * Write-if-changed mode: Files generated from templates are rendered to a temporary file first, and replace the
+   * existing file only if the content differs. Unchanged files are not touched and keep their last modified date.
+   * Environment folders are never deleted before generating in this mode. If delete-before-generate is set, files from
+   * the previous run that are no longer generated are deleted instead, as in sync mode.
+   * @return Write if changed
+   */
+  public boolean isWriteIfChanged() {
+    return this.writeIfChanged;
+  }
+
+  /**
+   * @param value Write if changed
+   * @return this
+   */
+  public GeneratorOptions writeIfChanged(boolean value) {
+    this.writeIfChanged = value;
+    return this;
+  }
+
+  /**
+   * Sync mode: Instead of deleting the environment folders before generating, only files that were generated
+   * by the previous run but not by the current run are deleted. The list of generated files is stored
+   * in the generation manifest in the state directory.
+   * @return Sync mode
+   */
+  public boolean isSync() {
+    return this.sync;
+  }
+
+  /**
+   * @param value Sync mode
+   * @return this
+   */
+  public GeneratorOptions sync(boolean value) {
+    this.sync = value;
+    return this;
+  }
+
+  /**
+   * Number of threads used for generating environments in parallel (default: 1).
+   * Each environment is generated with isolated state, the log output is buffered per environment
+   * and written in order of the environments.
+   * @return Number of threads
+   */
+  public int getEnvironmentThreads() {
+    return this.environmentThreads;
+  }
+
+  /**
+   * @param value Number of threads used for generating environments in parallel
+   * @return this
+   */
+  public GeneratorOptions environmentThreads(int value) {
+    this.environmentThreads = value;
+    return this;
+  }
+
+  /**
+   * Number of threads used for generating the nodes of an environment in parallel (default: 1).
+   * Each node uses it's own plugin context, the log output is buffered per node and written in order of the nodes.
+   * @return Number of threads
+   */
+  public int getNodeThreads() {
+    return this.nodeThreads;
+  }
+
+  /**
+   * @param value Number of threads used for generating the nodes of an environment in parallel
+   * @return this
+   */
+  public GeneratorOptions nodeThreads(int value) {
+    this.nodeThreads = value;
+    return this;
+  }
+
+  /**
+   * Number of threads used for rendering the files of a node role in parallel (default: 1).
+   * File header, validation and post-processing is applied by a separate pool with the same number of threads.
+   * @return Number of threads
+   */
+  public int getFileThreads() {
+    return this.fileThreads;
+  }
+
+  /**
+   * @param value Number of threads used for rendering the files of a node role in parallel
+   * @return this
+   */
+  public GeneratorOptions fileThreads(int value) {
+    this.fileThreads = value;
+    return this;
+  }
+
+  /**
+   * Incremental generation: Files whose inputs (template and partials, role file definition, resolved configuration
+   * and plugin versions) did not change since the last run are not generated again.
+   * Environment folders are never deleted before generating in this mode. If delete-before-generate is set, files from
+   * the previous run that are no longer generated are deleted instead, as in sync mode.
+   * @return Incremental generation
+   */
+  public boolean isIncremental() {
+    return this.incremental;
+  }
+
+  /**
+   * @param value Incremental generation
+   * @return this
+   */
+  public GeneratorOptions incremental(boolean value) {
+    this.incremental = value;
+    return this;
+  }
+
+  /**
+   * Directory to store the generation manifests for incremental generation and sync mode.
+   * If not set a directory ".conga-state" inside the destination directory is used.
+   * @return Directory
+   */
+  public File getStateDir() {
+    if (this.stateDir == null && this.destDir != null) {
+      return new File(this.destDir, DEFAULT_STATE_DIR_NAME);
+    }
+    return this.stateDir;
+  }
+
+  /**
+   * @param value Directory to store the generation manifests for incremental generation and sync mode.
+   * @return this
+   */
+  public GeneratorOptions stateDir(File value) {
+    this.stateDir = value;
+    return this;
+  }
+
   /**
    * Settings for exporting models to files.
    * @return Model export
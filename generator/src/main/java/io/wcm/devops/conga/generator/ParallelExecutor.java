@@ -0,0 +1,110 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+
+/**
+ * Executes a generation task for a list of items using a fixed number of threads.
+ * Each task gets it's own buffered logger, the log output is written in the order of the items.
+ * If only one thread is configured the tasks are executed sequentially in the calling thread using the given logger.
+ */
+final class ParallelExecutor {
+
+  private ParallelExecutor() {
+    // static methods only
+  }
+
+  /**
+   * Execute task for all items.
+   * @param items Items
+   * @param threadCount Number of threads
+   * @param log Logger
+   * @param task Task to execute for each item. Gets the item and the logger to use for this item.
+   * @return Task results in the order of the items
+   * @param <T> Item type
+   * @param <R> Result type
+   */
+  static <T, R> List<R> execute(List<T> items, int threadCount, Logger log, BiFunction<T, Logger, R> task) {
+    List<R> results = new ArrayList<>();
+    if (threadCount <= 1 || items.size() <= 1) {
+      for (T item : items) {
+        results.add(task.apply(item, log));
+      }
+      return results;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, items.size()));
+    try {
+      List<BufferedLoggerFacade> itemLogs = new ArrayList<>();
+      List<Future<R>> futures = new ArrayList<>();
+      for (T item : items) {
+        BufferedLoggerFacade itemLog = new BufferedLoggerFacade(log);
+        itemLogs.add(itemLog);
+        futures.add(executor.submit(() -> task.apply(item, itemLog)));
+      }
+
+      // wait for results and flush log output in original order
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          results.add(futures.get(i).get());
+        }
+        finally {
+          itemLogs.get(i).flush();
+        }
+      }
+      return results;
+    }
+    catch (ExecutionException ex) {
+      throw unwrap(ex.getCause());
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new GeneratorException("Generation was interrupted.", ex);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Get exception to rethrow for the cause of a failed asynchronous execution.
+   * @param cause Cause
+   * @return Runtime exception
+   */
+  static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException)cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error)cause;
+    }
+    return new GeneratorException(cause.getMessage(), cause);
+  }
+
+}
@@ -31,6 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 import io.wcm.devops.conga.generator.plugins.urlfile.FilesystemUrlFilePlugin;
 import io.wcm.devops.conga.generator.spi.UrlFilePlugin;
 import io.wcm.devops.conga.generator.spi.context.UrlFilePluginContext;
+import io.wcm.devops.conga.generator.util.FileUtil;
 import io.wcm.devops.conga.generator.util.PluginManager;
 
 /**
@@ -148,23 +149,45 @@ public final class UrlFileManager {
     return handleFile(url, plugin -> plugin.getLocalFile(url, context));
   }
 
+  /**
+   * Checks if the given URL references a file in the local filesystem inside the node directory.
+   * Such a file may be generated by another file definition of the same node.
+   * @param url URL string (including prefix)
+   * @return true if the URL references a file inside the node directory
+   */
+  public boolean isNodeFile(String url) {
+    File nodeDir = context.getNodeBaseDir();
+    if (StringUtils.isBlank(url) || nodeDir == null || !(getPlugin(url) instanceof FilesystemUrlFilePlugin)) {
+      return false;
+    }
+    String path = FileUtil.getCanonicalPath(FilesystemUrlFilePlugin.getFileReference(url, context));
+    return StringUtils.startsWith(path, FileUtil.getCanonicalPath(nodeDir) + File.separator);
+  }
+
   private <T> T handleFile(String url, FileHandler<T> fileHandler) throws IOException {
     if (StringUtils.isBlank(url)) {
       throw new IllegalArgumentException("No URL given.");
     }
+    UrlFilePlugin plugin = getPlugin(url);
+    if (plugin == null) {
+      throw new IOException("No file URL plugin exists that supports the URL: " + url);
+    }
+    return fileHandler.apply(plugin);
+  }
 
+  private UrlFilePlugin getPlugin(String url) {
     for (UrlFilePlugin plugin : urlFilePlugins) {
       if (plugin.accepts(url, context)) {
-        return fileHandler.apply(plugin);
+        return plugin;
       }
     }
 
     // if path does not contain any prefix try to resolve relative path from filesystem
     if (!URL_WITH_PREFIX.matcher(url).matches()) {
-      return fileHandler.apply(defaultUrlFilePlugin);
+      return defaultUrlFilePlugin;
     }
 
-    throw new IOException("No file URL plugin exists that supports the URL: " + url);
+    return null;
   }
 
   private interface FileHandler<T> {
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * Thread-safe cache for compiled templates and partials of one handlebars instance.
+ * A cached template is compiled again if the last modified date of it's source changed.
+ */
+class CompiledTemplateCache implements TemplateCache {
+
+  private final Map<String, CachedTemplate> cache = new ConcurrentHashMap<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder invalidationCount = new LongAdder();
+  private volatile boolean reload = true;
+
+  @Override
+  public void clear() {
+    cache.clear();
+  }
+
+  @Override
+  public void evict(TemplateSource source) {
+    cache.remove(source.filename());
+  }
+
+  @Override
+  public Template get(TemplateSource source, Parser parser) throws IOException {
+    String key = source.filename();
+    CachedTemplate cached = cache.get(key);
+    if (cached != null) {
+      if (!reload || cached.lastModified == source.lastModified()) {
+        hitCount.increment();
+        return cached.template;
+      }
+      invalidationCount.increment();
+    }
+    else {
+      missCount.increment();
+    }
+    // compile outside of map operations - partials may be compiled recursively using this cache
+    long lastModified = source.lastModified();
+    Template template = parser.parse(source);
+    cache.put(key, new CachedTemplate(template, lastModified));
+    return template;
+  }
+
+  @Override
+  public TemplateCache setReload(boolean value) {
+    this.reload = value;
+    return this;
+  }
+
+  TemplateCacheStats getStats() {
+    return new TemplateCacheStats(hitCount.sum(), missCount.sum(), invalidationCount.sum());
+  }
+
+  private static final class CachedTemplate {
+
+    private final Template template;
+    private final long lastModified;
+
+    CachedTemplate(Template template, long lastModified) {
+      this.template = template;
+      this.lastModified = lastModified;
+    }
+
+  }
+
+}
@@ -19,8 +19,17 @@
  */
 package io.wcm.devops.conga.generator.handlebars;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -33,11 +42,13 @@ import com.github.jknack.handlebars.helper.ConditionalHelpers;
 import com.github.jknack.handlebars.helper.StringHelpers;
 import com.github.jknack.handlebars.io.TemplateLoader;
 
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore.TemplateMetadata;
 import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
 import io.wcm.devops.conga.generator.spi.handlebars.EscapingStrategyPlugin;
 import io.wcm.devops.conga.generator.spi.handlebars.HelperPlugin;
 import io.wcm.devops.conga.generator.spi.handlebars.context.EscapingStrategyContext;
 import io.wcm.devops.conga.generator.spi.handlebars.context.HelperContext;
+import io.wcm.devops.conga.generator.util.FingerprintBuilder;
 import io.wcm.devops.conga.generator.util.PluginManager;
 import io.wcm.devops.conga.resource.ResourceCollection;
 
@@ -50,6 +61,11 @@ public class HandlebarsManager {
   private final PluginManager pluginManager;
   private final EscapingStrategyContext escapingStrategyContext;
   private final HelperContext helperContext;
+  private final TemplateMetadataStore templateMetadataStore;
+  private final Map<String, String> templateFingerprintCache = new ConcurrentHashMap<>();
+  private final List<CompiledTemplateCache> templateCaches = new CopyOnWriteArrayList<>();
+
+  private static final String NO_FINGERPRINT = "";
 
   private final LoadingCache<HandlebarsKey, Handlebars> handlebarsCache =
       Caffeine.newBuilder().build(new CacheLoader<HandlebarsKey, Handlebars>() {
@@ -63,6 +79,12 @@ public class HandlebarsManager {
           Handlebars handlebars = new Handlebars(templateLoader)
               .with(value -> escapingStrategy.escape(value, escapingStrategyContext));
 
+          // cache compiled templates and partials - each handlebars instance has it's own cache because
+          // compiled templates are bound to the escaping strategy and charset of the instance
+          CompiledTemplateCache templateCache = new CompiledTemplateCache();
+          templateCaches.add(templateCache);
+          handlebars.with(templateCache);
+
           // register helpers provided by JKnack Handlebars implementation
           handlebars.registerHelpers(StringHelpers.class);
           handlebars.registerHelpers(ConditionalHelpers.class);
@@ -87,7 +109,19 @@ public class HandlebarsManager {
    * @param pluginContextOptions Plugin context options
    */
   public HandlebarsManager(List<ResourceCollection> templateDirs, PluginContextOptions pluginContextOptions) {
+    this(templateDirs, pluginContextOptions, null);
+  }
+
+  /**
+   * @param templateDirs Template base directories
+   * @param pluginContextOptions Plugin context options
+   * @param templateMetadataStore Store for template metadata that may be persisted across builds.
+   *          If null the metadata is kept in memory only.
+   */
+  public HandlebarsManager(List<ResourceCollection> templateDirs, PluginContextOptions pluginContextOptions,
+      TemplateMetadataStore templateMetadataStore) {
     this.templateDirs = templateDirs;
+    this.templateMetadataStore = templateMetadataStore != null ? templateMetadataStore : new TemplateMetadataStore();
     this.pluginManager = pluginContextOptions.getPluginManager();
     this.escapingStrategyContext = new EscapingStrategyContext().pluginContextOptions(pluginContextOptions);
     this.helperContext = new HelperContext().pluginContextOptions(pluginContextOptions);
@@ -104,4 +138,88 @@ public class HandlebarsManager {
     return handlebarsCache.get(key);
   }
 
+  /**
+   * @return Statistics of the compiled template caches of all handlebars instances
+   */
+  public TemplateCacheStats getTemplateCacheStats() {
+    return templateCaches.stream()
+        .map(CompiledTemplateCache::getStats)
+        .reduce(new TemplateCacheStats(0, 0, 0), TemplateCacheStats::plus);
+  }
+
+  /**
+   * Get metadata of a template source (source hash, referenced partials and validation state).
+   * @param templatePath Template path
+   * @param charset Charset
+   * @return Template metadata
+   * @throws IOException If the template source cannot be read
+   */
+  public TemplateMetadata getTemplateMetadata(String templatePath, String charset) throws IOException {
+    TemplateLoader templateLoader = new CharsetAwareTemplateLoader(templateDirs, charset);
+    String content = templateLoader.sourceAt(templatePath).content(Charset.forName(charset));
+    return templateMetadataStore.get(templatePath, charset, content);
+  }
+
+  /**
+   * Marks the template source as compiled successfully, so it does not have to be validated again as long as
+   * the source does not change.
+   * @param templatePath Template path
+   * @param charset Charset
+   * @param metadata Metadata of the template source that was compiled
+   */
+  public void markTemplateValidated(String templatePath, String charset, TemplateMetadata metadata) {
+    templateMetadataStore.markValidated(templatePath, charset, metadata.getSourceHash());
+  }
+
+  /**
+   * Get fingerprint of a template source including the sources of all partials it references (recursively).
+   * @param templatePath Template path
+   * @param charset Charset
+   * @return Fingerprint or null if the template uses dynamic partials that cannot be detected
+   * @throws IOException If the template source cannot be read
+   */
+  public String getTemplateFingerprint(String templatePath, String charset) throws IOException {
+    String key = charset + ":" + templatePath;
+    String fingerprint = templateFingerprintCache.get(key);
+    if (fingerprint == null) {
+      fingerprint = buildTemplateFingerprint(templatePath, charset);
+      templateFingerprintCache.put(key, fingerprint);
+    }
+    return NO_FINGERPRINT.equals(fingerprint) ? null : fingerprint;
+  }
+
+  private String buildTemplateFingerprint(String templatePath, String charset) throws IOException {
+    TemplateLoader templateLoader = new CharsetAwareTemplateLoader(templateDirs, charset);
+    FingerprintBuilder fingerprint = new FingerprintBuilder();
+    Set<String> visited = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>();
+    pending.add(templatePath);
+    while (!pending.isEmpty()) {
+      String path = pending.poll();
+      if (!visited.add(path)) {
+        continue;
+      }
+      String content;
+      try {
+        content = templateLoader.sourceAt(path).content(Charset.forName(charset));
+      }
+      catch (FileNotFoundException ex) {
+        if (path.equals(templatePath)) {
+          throw ex;
+        }
+        // probably an inline partial
+        fingerprint.add(path).add(null);
+        continue;
+      }
+      TemplateMetadata metadata = templateMetadataStore.get(path, charset, content);
+      fingerprint.add(path).add(metadata.getSourceHash());
+      Set<String> partials = metadata.getPartials();
+      if (partials == null) {
+        return NO_FINGERPRINT;
+      }
+      pending.addAll(partials);
+    }
+    return fingerprint.build();
+  }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Detects partials referenced in handlebars template sources, e.g. <code>{{&gt; shared/partial.hbs}}</code>.
+ */
+final class PartialReferences {
+
+  private static final Pattern PARTIAL_PATTERN = Pattern.compile("\\{\\{~?#?>\\s*([^\\s}~]+)");
+
+  private PartialReferences() {
+    // static methods only
+  }
+
+  /**
+   * Get names of all partials referenced in the given template source.
+   * @param templateContent Template source
+   * @return Partial names, or null if the template contains dynamic partial references that can not be detected
+   */
+  @SuppressWarnings("java:S1168") // null indicates dynamic partial references
+  static Set<String> find(String templateContent) {
+    Set<String> partials = new LinkedHashSet<>();
+    Matcher matcher = PARTIAL_PATTERN.matcher(templateContent);
+    while (matcher.find()) {
+      String name = matcher.group(1);
+      if (StringUtils.startsWith(name, "(")) {
+        return null;
+      }
+      partials.add(StringUtils.strip(name, "\"'"));
+    }
+    return partials;
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+/**
+ * Statistics of the compiled template cache.
+ */
+public final class TemplateCacheStats {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long invalidationCount;
+
+  TemplateCacheStats(long hitCount, long missCount, long invalidationCount) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.invalidationCount = invalidationCount;
+  }
+
+  /**
+   * @return Number of templates returned from cache
+   */
+  public long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * @return Number of templates that were compiled because they were not cached yet
+   */
+  public long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * @return Number of templates that were compiled again because their source changed
+   */
+  public long getInvalidationCount() {
+    return this.invalidationCount;
+  }
+
+  /**
+   * @return Ratio of cache hits to all requests, or 0 if there were no requests
+   */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount + invalidationCount;
+    return requestCount == 0 ? 0d : (double)hitCount / requestCount;
+  }
+
+  TemplateCacheStats plus(TemplateCacheStats other) {
+    return new TemplateCacheStats(hitCount + other.hitCount, missCount + other.missCount,
+        invalidationCount + other.invalidationCount);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d hits, %d misses, %d invalidations (hit rate %.1f%%)",
+        hitCount, missCount, invalidationCount, getHitRate() * 100);
+  }
+
+}
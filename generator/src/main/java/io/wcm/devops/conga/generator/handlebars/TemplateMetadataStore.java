@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import io.wcm.devops.conga.generator.GeneratorException;
+import io.wcm.devops.conga.generator.util.FileUtil;
+import io.wcm.devops.conga.generator.util.FingerprintBuilder;
+
+/**
+ * Stores metadata of handlebars template sources: a hash of the source, the partials referenced by it and
+ * whether the template was compiled successfully. If a store file is given the metadata is persisted across builds,
+ * so templates whose source hash did not change do not have to be parsed or validated again.
+ * <p>
+ * Metadata entries are always bound to the source hash - if the template source changes the metadata is
+ * collected again.
+ * </p>
+ */
+public final class TemplateMetadataStore {
+
+  private static final int STORE_VERSION = 1;
+
+  private static final Gson GSON = new GsonBuilder().create();
+
+  private final File storeFile;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private volatile boolean changed;
+
+  /**
+   * Creates a store that keeps the metadata in memory only.
+   */
+  public TemplateMetadataStore() {
+    this(null);
+  }
+
+  private TemplateMetadataStore(File storeFile) {
+    this.storeFile = storeFile;
+  }
+
+  /**
+   * Load store from file. If it does not exist or is invalid an empty store is returned.
+   * @param storeFile Store file
+   * @param log Logger
+   * @return Template metadata store
+   */
+  public static TemplateMetadataStore load(File storeFile, Logger log) {
+    TemplateMetadataStore store = new TemplateMetadataStore(storeFile);
+    if (storeFile.exists()) {
+      try (Reader reader = Files.newBufferedReader(storeFile.toPath(), StandardCharsets.UTF_8)) {
+        Content content = GSON.fromJson(reader, Content.class);
+        if (content != null && content.version == STORE_VERSION && content.templates != null) {
+          store.entries.putAll(content.templates);
+        }
+      }
+      catch (IOException | JsonParseException ex) {
+        log.warn("Ignoring invalid template metadata store {}: {}", FileUtil.getCanonicalPath(storeFile), ex.getMessage());
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Save store to file if it was loaded from a file and the metadata has changed.
+   */
+  public void save() {
+    if (storeFile == null || !changed) {
+      return;
+    }
+    Content content = new Content();
+    content.version = STORE_VERSION;
+    content.templates = new TreeMap<>(entries);
+    try {
+      File dir = storeFile.getParentFile();
+      Files.createDirectories(dir.toPath());
+      File tempFile = File.createTempFile(storeFile.getName(), ".tmp", dir);
+      try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+        GSON.toJson(content, writer);
+      }
+      Files.move(tempFile.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      changed = false;
+    }
+    catch (IOException ex) {
+      throw new GeneratorException("Unable to write template metadata store: " + FileUtil.getCanonicalPath(storeFile), ex);
+    }
+  }
+
+  /**
+   * Get metadata for template source. If no metadata exists for the given source hash, the template source is parsed
+   * for partial references and the result is stored.
+   * @param templatePath Template path
+   * @param charset Charset
+   * @param content Template source
+   * @return Template metadata
+   */
+  public TemplateMetadata get(String templatePath, String charset, String content) {
+    String key = toKey(templatePath, charset);
+    String sourceHash = new FingerprintBuilder().add(content).build();
+    Entry entry = entries.get(key);
+    if (entry == null || !StringUtils.equals(entry.sourceHash, sourceHash)) {
+      entry = new Entry();
+      entry.sourceHash = sourceHash;
+      Set<String> partials = PartialReferences.find(content);
+      entry.dynamicPartials = (partials == null);
+      entry.partials = partials != null ? new ArrayList<>(partials) : null;
+      entries.put(key, entry);
+      changed = true;
+    }
+    return new TemplateMetadata(entry);
+  }
+
+  /**
+   * Marks the template source with the given hash as compiled successfully.
+   * @param templatePath Template path
+   * @param charset Charset
+   * @param sourceHash Source hash
+   */
+  public void markValidated(String templatePath, String charset, String sourceHash) {
+    Entry entry = entries.get(toKey(templatePath, charset));
+    if (entry != null && !entry.validated && StringUtils.equals(entry.sourceHash, sourceHash)) {
+      Entry validatedEntry = new Entry();
+      validatedEntry.sourceHash = entry.sourceHash;
+      validatedEntry.partials = entry.partials;
+      validatedEntry.dynamicPartials = entry.dynamicPartials;
+      validatedEntry.validated = true;
+      entries.put(toKey(templatePath, charset), validatedEntry);
+      changed = true;
+    }
+  }
+
+  private static String toKey(String templatePath, String charset) {
+    return charset + ":" + templatePath;
+  }
+
+  /**
+   * Metadata of a template source.
+   */
+  public static final class TemplateMetadata {
+
+    private final String sourceHash;
+    private final Set<String> partials;
+    private final boolean validated;
+
+    private TemplateMetadata(Entry entry) {
+      this.sourceHash = entry.sourceHash;
+      this.partials = entry.dynamicPartials || entry.partials == null ? null
+          : Collections.unmodifiableSet(new LinkedHashSet<>(entry.partials));
+      this.validated = entry.validated;
+    }
+
+    /**
+     * @return Hash of the template source
+     */
+    public String getSourceHash() {
+      return this.sourceHash;
+    }
+
+    /**
+     * @return Partials referenced directly by the template, or null if the template uses dynamic partials
+     */
+    @SuppressWarnings("java:S1168") // null indicates dynamic partial references
+    public Set<String> getPartials() {
+      return this.partials;
+    }
+
+    /**
+     * @return true if the template source with this hash was compiled successfully before
+     */
+    public boolean isValidated() {
+      return this.validated;
+    }
+
+  }
+
+  private static final class Content {
+    private int version;
+    private Map<String, Entry> templates;
+  }
+
+  private static final class Entry {
+    private String sourceHash;
+    private List<String> partials;
+    private boolean dynamicPartials;
+    private boolean validated;
+  }
+
+}
@@ -20,17 +20,14 @@
 package io.wcm.devops.conga.generator.plugins.fileheader;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.wcm.devops.conga.generator.GeneratorException;
 import io.wcm.devops.conga.generator.spi.FileHeaderPlugin;
 import io.wcm.devops.conga.generator.spi.context.FileContext;
@@ -42,11 +39,10 @@ import io.wcm.devops.conga.generator.spi.context.FileHeaderContext;
 public abstract class AbstractFileHeader implements FileHeaderPlugin {
 
   @Override
-  @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
   public final Void apply(FileContext file, FileHeaderContext context) {
     String lineBreak = StringUtils.defaultString(getLineBreak());
     try {
-      String content = FileUtils.readFileToString(file.getFile(), file.getCharset());
+      String content = file.readContent();
 
       List<String> sanitizedCommentLines;
       if (context.getCommentLines() == null) {
@@ -69,8 +65,7 @@ public abstract class AbstractFileHeader implements FileHeaderPlugin {
           + StringUtils.defaultString(getBlockSuffix())
           + StringUtils.substring(content, insertPosition);
 
-      Files.delete(file.getFile().toPath());
-      FileUtils.write(file.getFile(), content, file.getCharset());
+      file.writeContent(content);
     }
     catch (IOException ex) {
       throw new GeneratorException("Unable to add file header to " + file.getCanonicalPath(), ex);
@@ -78,6 +73,11 @@ public abstract class AbstractFileHeader implements FileHeaderPlugin {
     return null;
   }
 
+  @Override
+  public boolean supportsContentBuffer() {
+    return true;
+  }
+
   protected String sanitizeComment(String line) {
     return line;
   }
@@ -114,7 +114,7 @@ public abstract class AbstractFileHeader implements FileHeaderPlugin {
   protected final FileHeaderContext extractFileHeaderBetweenBlockStartEnd(FileContext file) {
     try {
       if (StringUtils.isNotEmpty(getCommentBlockStart()) && StringUtils.isNotEmpty(getCommentBlockEnd())) {
-        String content = FileUtils.readFileToString(file.getFile(), file.getCharset());
+        String content = file.readContent();
         int insertPosition = getInsertPosition(content);
         int posBlockStart = content.indexOf(getCommentBlockStart());
         int posBlockEnd = content.indexOf(getCommentBlockEnd());
@@ -140,7 +140,7 @@ public abstract class AbstractFileHeader implements FileHeaderPlugin {
   protected final FileHeaderContext extractFileHeaderWithLinePrefixes(FileContext file) {
     try {
       if (StringUtils.isNotEmpty(getLineBreak()) && StringUtils.isNotEmpty(getCommentLinePrefix())) {
-        String content = FileUtils.readFileToString(file.getFile(), file.getCharset());
+        String content = file.readContent();
         int insertPosition = getInsertPosition(content);
         content = content.substring(insertPosition);
 
@@ -19,7 +19,9 @@
  */
 package io.wcm.devops.conga.generator.plugins.fileheader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
@@ -53,8 +55,9 @@ import io.wcm.devops.conga.generator.util.FileUtil;
  */
 public final class XmlFileHeader implements FileHeaderPlugin {
 
-  private final DocumentBuilder documentBuilder;
-  private final Transformer transformer;
+  // document builders and transformers are not thread-safe, so keep one per thread
+  private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(XmlFileHeader::createDocumentBuilder);
+  private final ThreadLocal<Transformer> transformer = ThreadLocal.withInitial(XmlFileHeader::createTransformer);
 
   /**
    * Plugin name
@@ -67,15 +70,29 @@ public final class XmlFileHeader implements FileHeaderPlugin {
    * Constructor.
    */
   public XmlFileHeader() {
+    // fail early if XML parser or transformer is not available
+    documentBuilder.get();
+    transformer.get();
+  }
+
+  private static DocumentBuilder createDocumentBuilder() {
     try {
       DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-      documentBuilder = documentBuilderFactory.newDocumentBuilder();
+      return documentBuilderFactory.newDocumentBuilder();
+    }
+    catch (ParserConfigurationException ex) {
+      throw new GeneratorException("Unable to initialize validator.", ex);
+    }
+  }
+
+  private static Transformer createTransformer() {
+    try {
       TransformerFactory transformerFactory = TransformerFactory.newInstance();
       transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
       transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
-      transformer = transformerFactory.newTransformer();
+      return transformerFactory.newTransformer();
     }
-    catch (ParserConfigurationException | TransformerConfigurationException ex) {
+    catch (TransformerConfigurationException ex) {
       throw new GeneratorException("Unable to initialize validator.", ex);
     }
   }
@@ -94,17 +111,23 @@ public final class XmlFileHeader implements FileHeaderPlugin {
   @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
   public Void apply(FileContext file, FileHeaderContext context) {
     try {
-      Document doc = documentBuilder.parse(file.getFile());
+      Document doc = parse(file);
 
       // build XML comment and add it at first position
       Comment comment = doc.createComment("\n" + StringUtils.join(context.getCommentLines(), "\n") + "\n");
       doc.insertBefore(comment, doc.getChildNodes().item(0));
 
       // write file
-      Files.delete(file.getFile().toPath());
       DOMSource source = new DOMSource(doc);
-      StreamResult result = new StreamResult(file.getFile());
-      transformer.transform(source, result);
+      if (file.hasContentBuffer()) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(file.getContent().length + 1024);
+        transformer.get().transform(source, new StreamResult(bos));
+        file.content(bos.toByteArray());
+      }
+      else {
+        Files.delete(file.getFile().toPath());
+        transformer.get().transform(source, new StreamResult(file.getFile()));
+      }
     }
     catch (SAXException | IOException | TransformerException ex) {
       throw new GeneratorException("Unable to add file header to " + file.getCanonicalPath(), ex);
@@ -112,10 +135,21 @@ public final class XmlFileHeader implements FileHeaderPlugin {
     return null;
   }
 
+  @Override
+  public boolean supportsContentBuffer() {
+    return true;
+  }
+
+  private Document parse(FileContext file) throws SAXException, IOException {
+    try (InputStream is = file.openContentStream()) {
+      return documentBuilder.get().parse(is, file.getFile().toURI().toString());
+    }
+  }
+
   @Override
   public FileHeaderContext extract(FileContext file) {
     try {
-      Document doc = documentBuilder.parse(file.getFile());
+      Document doc = parse(file);
       if (doc.getChildNodes().getLength() > 0) {
         Node firstNode = doc.getChildNodes().item(0);
         if (firstNode instanceof Comment) {
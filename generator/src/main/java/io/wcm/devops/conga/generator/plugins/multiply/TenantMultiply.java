@@ -30,7 +30,8 @@ import io.wcm.devops.conga.generator.GeneratorException;
 import io.wcm.devops.conga.generator.spi.MultiplyPlugin;
 import io.wcm.devops.conga.generator.spi.context.MultiplyContext;
 import io.wcm.devops.conga.model.environment.Tenant;
-import io.wcm.devops.conga.model.util.MapMerger;
+import io.wcm.devops.conga.model.util.MapMergeCache;
+import io.wcm.devops.conga.model.util.PersistentMap;
 
 /**
  * Multiplies a file for each tenant with a matching tenant role.
@@ -53,16 +54,21 @@ public final class TenantMultiply implements MultiplyPlugin {
   public List<Map<String, Object>> multiply(MultiplyContext context) {
     List<Map<String, Object>> contexts = new ArrayList<>();
 
+    // tenant configurations are derived from the already merged context configuration, sharing all entries not defined by the tenant
+    PersistentMap<String, Object> config = PersistentMap.copyOf(context.getConfig());
+    // the merged tenant configurations are shared by all files of the node role
+    MapMergeCache mapMergeCache = context.getMapMergeCache() != null ? context.getMapMergeCache() : new MapMergeCache();
+
     for (Tenant tenant : context.getEnvironment().getTenants()) {
       if (StringUtils.isEmpty(tenant.getTenant())) {
         throw new GeneratorException("Tenant without tenant name detected.");
       }
       if (acceptTenant(tenant, context.getRoleFile().getMultiplyOptions())) {
-        Map<String, Object> mergedConfig = MapMerger.merge(tenant.getConfig(), context.getConfig());
+        PersistentMap<String, Object> mergedConfig = (PersistentMap<String, Object>)mapMergeCache.merge(tenant.getConfig(), config);
 
         // set tenant-specific context variables
-        mergedConfig.put(ContextProperties.TENANT, context.getVariableStringResolver().resolve(tenant.getTenant(), mergedConfig));
-        mergedConfig.put(ContextProperties.TENANT_ROLES, tenant.getRoles());
+        mergedConfig = mergedConfig.with(ContextProperties.TENANT, context.getVariableStringResolver().resolve(tenant.getTenant(), mergedConfig));
+        mergedConfig = mergedConfig.with(ContextProperties.TENANT_ROLES, tenant.getRoles());
 
         contexts.add(mergedConfig);
       }
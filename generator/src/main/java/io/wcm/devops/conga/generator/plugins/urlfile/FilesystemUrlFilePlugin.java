@@ -62,13 +62,13 @@ public class FilesystemUrlFilePlugin implements UrlFilePlugin {
 
   @Override
   public String getFileName(String url, UrlFilePluginContext context) {
-    File file = getFileInternal(url, context);
+    File file = getFileReference(url, context);
     return file.getName();
   }
 
   @Override
   public InputStream getFile(String url, UrlFilePluginContext context) throws IOException {
-    File file = getFileInternal(url, context);
+    File file = getFileReference(url, context);
     if (!file.exists()) {
       throwFileNotFoundException(file);
     }
@@ -77,7 +77,7 @@ public class FilesystemUrlFilePlugin implements UrlFilePlugin {
 
   @Override
   public URL getFileUrl(String url, UrlFilePluginContext context) throws IOException {
-    File file = getFileInternal(url, context);
+    File file = getFileReference(url, context);
     if (!file.exists()) {
       throwFileNotFoundException(file);
     }
@@ -87,14 +87,20 @@ public class FilesystemUrlFilePlugin implements UrlFilePlugin {
   @Override
   @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
   public void deleteFile(String url, UrlFilePluginContext context) throws IOException {
-    File file = getFileInternal(url, context);
+    File file = getFileReference(url, context);
     if (!file.exists()) {
       throwFileNotFoundException(file);
     }
     Files.delete(file.toPath());
   }
 
-  private static File getFileInternal(String url, UrlFilePluginContext context) {
+  /**
+   * Get reference to file in local filesystem for the given URL. The file may not exist.
+   * @param url URL string (with or without prefix)
+   * @param context Context objects
+   * @return File reference
+   */
+  public static File getFileReference(String url, UrlFilePluginContext context) {
     if (StringUtils.startsWith(url, PREFIX)) {
       String absolutePath = StringUtils.substringAfter(url, PREFIX);
       return new File(absolutePath);
@@ -19,8 +19,6 @@
  */
 package io.wcm.devops.conga.generator.plugins.validator;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -61,7 +59,7 @@ public final class JsonValidator implements ValidatorPlugin {
 
   @Override
   public Void apply(FileContext file, ValidatorContext context) throws ValidationException {
-    try (InputStream is = new BufferedInputStream(new FileInputStream(file.getFile()));
+    try (InputStream is = file.openContentStream();
         Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
       JsonParser.parseReader(reader);
     }
@@ -71,4 +69,9 @@ public final class JsonValidator implements ValidatorPlugin {
     return null;
   }
 
+  @Override
+  public boolean supportsContentBuffer() {
+    return true;
+  }
+
 }
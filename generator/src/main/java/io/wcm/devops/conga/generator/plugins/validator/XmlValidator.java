@@ -20,6 +20,7 @@
 package io.wcm.devops.conga.generator.plugins.validator;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -39,7 +40,8 @@ import io.wcm.devops.conga.generator.util.FileUtil;
  */
 public final class XmlValidator implements ValidatorPlugin {
 
-  private final DocumentBuilder documentBuilder;
+  // document builders are not thread-safe, so keep one per thread
+  private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(XmlValidator::createDocumentBuilder);
 
   /**
    * Plugin name
@@ -52,9 +54,14 @@ public final class XmlValidator implements ValidatorPlugin {
    * Constructor.
    */
   public XmlValidator() {
+    // fail early if XML parser is not available
+    documentBuilder.get();
+  }
+
+  private static DocumentBuilder createDocumentBuilder() {
     try {
       DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-      documentBuilder = factory.newDocumentBuilder();
+      return factory.newDocumentBuilder();
     }
     catch (ParserConfigurationException ex) {
       throw new GeneratorException("Unable to initialize validator.", ex);
@@ -73,8 +80,8 @@ public final class XmlValidator implements ValidatorPlugin {
 
   @Override
   public Void apply(FileContext file, ValidatorContext context) throws ValidationException {
-    try {
-      documentBuilder.parse(file.getFile());
+    try (InputStream is = file.openContentStream()) {
+      documentBuilder.get().parse(is, file.getFile().toURI().toString());
     }
     catch (SAXException | IOException ex) {
       throw new ValidationException("XML file is not valid: " + ex.getMessage(), ex);
@@ -82,4 +89,9 @@ public final class XmlValidator implements ValidatorPlugin {
     return null;
   }
 
+  @Override
+  public boolean supportsContentBuffer() {
+    return true;
+  }
+
 }
@@ -52,4 +52,13 @@ public interface FilePlugin<T, R> extends Plugin {
    */
   R apply(FileContext file, T context);
 
+  /**
+   * Checks if the plugin supports files whose content is held in an in-memory buffer
+   * (see {@link FileContext#getContent()}). If not, the file is written to disk before the plugin is applied.
+   * @return true if the plugin reads and writes the file content only via the methods of {@link FileContext}
+   */
+  default boolean supportsContentBuffer() {
+    return false;
+  }
+
 }
@@ -19,6 +19,9 @@
  */
 package io.wcm.devops.conga.generator.spi;
 
+import java.util.Collection;
+import java.util.Map;
+
 import io.wcm.devops.conga.generator.spi.context.ValueProviderContext;
 
 /**
@@ -34,4 +37,21 @@ public interface ValueProviderPlugin extends Plugin {
    */
   Object resolve(String variableName, ValueProviderContext context);
 
+  /**
+   * Gets multiple parameter values from value provider at once. It is called once before the generation starts
+   * with all variables of this value provider referenced in the environment configuration.
+   * Value providers fetching values from remote systems can implement this to fetch all values with a single
+   * request. Variables contained in the result are not resolved via {@link #resolve(String, ValueProviderContext)}
+   * again.
+   * <p>
+   * The default implementation returns an empty map, the variables are then resolved one by one when required.
+   * </p>
+   * @param variableNames Variable names
+   * @param context Context
+   * @return Parameter values by variable name. Variables without value may be missing in the map.
+   */
+  default Map<String, Object> resolveBatch(Collection<String> variableNames, ValueProviderContext context) {
+    return Map.of();
+  }
+
 }
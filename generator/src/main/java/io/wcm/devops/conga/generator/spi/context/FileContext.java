@@ -19,15 +19,31 @@
  */
 package io.wcm.devops.conga.generator.spi.context;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.wcm.devops.conga.generator.spi.FilePlugin;
 import io.wcm.devops.conga.generator.util.FileUtil;
 
 /**
  * File context for plugins.
+ * <p>
+ * The content of the file may be held in an in-memory buffer instead of being written to disk (see {@link #getContent()}).
+ * This is only the case for plugins that support this via {@link FilePlugin#supportsContentBuffer()}.
+ * Such plugins should access the content via {@link #readContent()}, {@link #writeContent(String)} and
+ * {@link #openContentStream()}, which work both with and without a content buffer.
+ * </p>
  */
 public final class FileContext {
 
@@ -36,6 +52,7 @@ public final class FileContext {
   private String charset;
   private Map<String, Object> modelOptions = new HashMap<>();
   private File targetDir;
+  private byte[] content;
 
   /**
    * @return File
@@ -118,6 +135,81 @@ public final class FileContext {
     return this;
   }
 
+  /**
+   * @return In-memory content of the file, or null if the content is stored in the file on disk.
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  public byte[] getContent() {
+    return this.content;
+  }
+
+  /**
+   * @param value In-memory content of the file, or null if the content is stored in the file on disk.
+   * @return this
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public FileContext content(byte[] value) {
+    this.content = value;
+    return this;
+  }
+
+  /**
+   * @return true if the content of the file is held in an in-memory buffer.
+   */
+  public boolean hasContentBuffer() {
+    return this.content != null;
+  }
+
+  /**
+   * Reads the content of the file from the content buffer or from disk.
+   * @return File content
+   * @throws IOException I/O exception
+   */
+  public String readContent() throws IOException {
+    if (content != null) {
+      return new String(content, Charsets.toCharset(charset));
+    }
+    return FileUtils.readFileToString(file, Charsets.toCharset(charset));
+  }
+
+  /**
+   * Writes the content of the file to the content buffer or to disk.
+   * @param value File content
+   * @throws IOException I/O exception
+   */
+  public void writeContent(String value) throws IOException {
+    if (content != null) {
+      content = value.getBytes(Charsets.toCharset(charset));
+    }
+    else {
+      Files.deleteIfExists(file.toPath());
+      FileUtils.write(file, value, Charsets.toCharset(charset));
+    }
+  }
+
+  /**
+   * Opens an input stream for reading the binary content of the file from the content buffer or from disk.
+   * @return Input stream
+   * @throws IOException I/O exception
+   */
+  public InputStream openContentStream() throws IOException {
+    if (content != null) {
+      return new ByteArrayInputStream(content);
+    }
+    return new BufferedInputStream(Files.newInputStream(file.toPath()));
+  }
+
+  /**
+   * Writes the content buffer to the file on disk and clears the buffer. Does nothing if no content buffer is set.
+   * @throws IOException I/O exception
+   */
+  public void flush() throws IOException {
+    if (content != null) {
+      Files.write(file.toPath(), content);
+      content = null;
+    }
+  }
+
   @Override
   public String toString() {
     return canonicalPath;
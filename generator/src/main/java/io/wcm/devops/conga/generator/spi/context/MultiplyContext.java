@@ -26,6 +26,7 @@ import io.wcm.devops.conga.generator.util.VariableStringResolver;
 import io.wcm.devops.conga.model.environment.Environment;
 import io.wcm.devops.conga.model.role.Role;
 import io.wcm.devops.conga.model.role.RoleFile;
+import io.wcm.devops.conga.model.util.MapMergeCache;
 
 /**
  * Context for {@link io.wcm.devops.conga.generator.spi.MultiplyPlugin}.
@@ -38,6 +39,7 @@ public final class MultiplyContext extends AbstractPluginContext<MultiplyContext
   private Map<String, Object> config;
   private VariableStringResolver variableStringResolver;
   private VariableMapResolver variableMapResolver;
+  private MapMergeCache mapMergeCache;
 
   /**
    * @return Role
@@ -135,4 +137,20 @@ public final class MultiplyContext extends AbstractPluginContext<MultiplyContext
     return this;
   }
 
+  /**
+   * @return Cache for merging maps that is shared by all files of the current node role. May be null.
+   */
+  public MapMergeCache getMapMergeCache() {
+    return this.mapMergeCache;
+  }
+
+  /**
+   * @param value Cache for merging maps that is shared by all files of the current node role
+   * @return this
+   */
+  public MultiplyContext mapMergeCache(MapMergeCache value) {
+    this.mapMergeCache = value;
+    return this;
+  }
+
 }
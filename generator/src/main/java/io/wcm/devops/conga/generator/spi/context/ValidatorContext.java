@@ -20,6 +20,7 @@
 package io.wcm.devops.conga.generator.spi.context;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Context for {@link io.wcm.devops.conga.generator.spi.ValidatorPlugin}.
@@ -27,11 +28,15 @@ import java.util.Map;
 public final class ValidatorContext extends AbstractPluginContext<ValidatorContext> {
 
   private Map<String, Object> options;
+  private Supplier<Map<String, Object>> optionsSupplier;
 
   /**
    * @return Validator options
    */
   public Map<String, Object> getOptions() {
+    if (options == null && optionsSupplier != null) {
+      options = optionsSupplier.get();
+    }
     return options;
   }
 
@@ -41,6 +46,17 @@ public final class ValidatorContext extends AbstractPluginContext<ValidatorConte
    */
   public ValidatorContext options(Map<String, Object> value) {
     options = value;
+    optionsSupplier = null;
+    return this;
+  }
+
+  /**
+   * @param value Supplier for validator options. It is called on first access to the options.
+   * @return this
+   */
+  public ValidatorContext optionsSupplier(Supplier<Map<String, Object>> value) {
+    options = null;
+    optionsSupplier = value;
     return this;
   }
 
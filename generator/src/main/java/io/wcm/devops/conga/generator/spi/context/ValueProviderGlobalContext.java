@@ -22,13 +22,15 @@ package io.wcm.devops.conga.generator.spi.context;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Global context for all {@link io.wcm.devops.conga.generator.spi.ValueProviderPlugin} implementations.
  */
 public final class ValueProviderGlobalContext extends AbstractPluginContext<ValueProviderGlobalContext> {
 
-  private final Map<String, Object> globalValueProviderCache = new HashMap<>();
+  private final Map<String, Object> globalValueProviderCache = Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, Map<String, Object>> prefetchedValues = new ConcurrentHashMap<>();
 
   /**
    * Parameter name in value provider configuration to specify the value provider plugin name.
@@ -69,4 +71,22 @@ public final class ValueProviderGlobalContext extends AbstractPluginContext<Valu
     return globalValueProviderCache;
   }
 
+  /**
+   * Get values that were fetched in a batch from a value provider before the generation started.
+   * @param valueProviderName Value provider name
+   * @return Prefetched values by variable name. Never null.
+   */
+  public Map<String, Object> getPrefetchedValues(String valueProviderName) {
+    return prefetchedValues.getOrDefault(valueProviderName, Collections.emptyMap());
+  }
+
+  /**
+   * Set values that were fetched in a batch from a value provider.
+   * @param valueProviderName Value provider name
+   * @param values Prefetched values by variable name
+   */
+  public void setPrefetchedValues(String valueProviderName, Map<String, Object> values) {
+    prefetchedValues.put(valueProviderName, Collections.unmodifiableMap(new HashMap<>(values)));
+  }
+
 }
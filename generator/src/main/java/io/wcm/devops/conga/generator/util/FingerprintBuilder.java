@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.wcm.devops.conga.model.util.SharedValue;
+
+/**
+ * Builds a SHA-256 fingerprint for a sequence of values.
+ * <p>
+ * Maps, lists and other collections are processed recursively. Map entries are processed in order of their keys,
+ * and the items of collections that are not lists independent of their order, so the fingerprint does not depend on
+ * the iteration order of the map or collection implementation.
+ * Other objects are included with their class name and string representation.
+ * {@link SharedValue} instances are included with their fingerprint from {@link SharedValueFingerprints}, if given.
+ * </p>
+ */
+public final class FingerprintBuilder {
+
+  private final MessageDigest digest;
+  private final SharedValueFingerprints sharedValueFingerprints;
+
+  /**
+   * Constructor.
+   */
+  public FingerprintBuilder() {
+    this(null);
+  }
+
+  /**
+   * @param sharedValueFingerprints Cache for fingerprints of shared values (may be null)
+   */
+  public FingerprintBuilder(SharedValueFingerprints sharedValueFingerprints) {
+    this.sharedValueFingerprints = sharedValueFingerprints;
+    try {
+      this.digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not supported.", ex);
+    }
+  }
+
+  /**
+   * Add value to fingerprint.
+   * @param value Value (may be null)
+   * @return this
+   */
+  public FingerprintBuilder add(Object value) {
+    if (sharedValueFingerprints != null && value instanceof SharedValue) {
+      addTag('R');
+      addString(sharedValueFingerprints.get((SharedValue)value));
+      return this;
+    }
+    return addValue(value);
+  }
+
+  /**
+   * Add value to fingerprint without looking up the fingerprint of a shared value.
+   * @param value Value (may be null)
+   * @return this
+   */
+  FingerprintBuilder addValue(Object value) {
+    if (value == null) {
+      addTag('N');
+    }
+    else if (value instanceof CharSequence) {
+      addTag('S');
+      addString(value.toString());
+    }
+    else if (value instanceof Map) {
+      addMap((Map<?, ?>)value);
+    }
+    else if (value instanceof List) {
+      List<?> list = (List<?>)value;
+      addTag('L');
+      addInt(list.size());
+      list.forEach(this::add);
+    }
+    else if (value instanceof Collection) {
+      addUnorderedCollection((Collection<?>)value);
+    }
+    else if (value instanceof byte[]) {
+      byte[] bytes = (byte[])value;
+      addTag('B');
+      addInt(bytes.length);
+      digest.update(bytes);
+    }
+    else {
+      addTag('O');
+      addString(value.getClass().getName());
+      addString(value.toString());
+    }
+    return this;
+  }
+
+  /**
+   * @return Fingerprint as hex string
+   */
+  public String build() {
+    byte[] hash = digest.digest();
+    StringBuilder result = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      result.append(Character.forDigit((b >> 4) & 0xF, 16));
+      result.append(Character.forDigit(b & 0xF, 16));
+    }
+    return result.toString();
+  }
+
+  private void addMap(Map<?, ?> map) {
+    Map<String, Object> sortedMap = new TreeMap<>();
+    map.forEach((key, value) -> sortedMap.put(String.valueOf(key), value));
+    addTag('M');
+    addInt(sortedMap.size());
+    sortedMap.forEach((key, value) -> {
+      addString(key);
+      add(value);
+    });
+  }
+
+  private void addUnorderedCollection(Collection<?> collection) {
+    List<String> itemFingerprints = new ArrayList<>();
+    collection.forEach(item -> itemFingerprints.add(new FingerprintBuilder(sharedValueFingerprints).add(item).build()));
+    Collections.sort(itemFingerprints);
+    addTag('C');
+    addInt(itemFingerprints.size());
+    itemFingerprints.forEach(this::addString);
+  }
+
+  private void addTag(char tag) {
+    digest.update((byte)tag);
+  }
+
+  private void addInt(int value) {
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+  }
+
+  private void addString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    addInt(bytes.length);
+    digest.update(bytes);
+  }
+
+}
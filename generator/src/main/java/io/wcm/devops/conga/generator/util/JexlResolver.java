@@ -19,53 +19,29 @@
  */
 package io.wcm.devops.conga.generator.util;
 
-import static io.wcm.devops.conga.generator.util.VariableStringResolver.EXPRESSION_POS_DOLLAR_SIGN;
-import static io.wcm.devops.conga.generator.util.VariableStringResolver.EXPRESSION_POS_EXPRESSION;
-import static io.wcm.devops.conga.generator.util.VariableStringResolver.MULTI_EXPRESSION_PATTERN;
-import static io.wcm.devops.conga.generator.util.VariableStringResolver.VARIABLE_PATTERN;
-
-import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 
-import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlContext;
-import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlExpression;
-import org.apache.commons.jexl3.MapContext;
-import org.apache.commons.jexl3.introspection.JexlPermissions;
-import org.apache.commons.lang3.StringUtils;
 
 import io.wcm.devops.conga.generator.GeneratorException;
-import io.wcm.devops.conga.model.util.MapMerger;
-import io.wcm.devops.conga.model.util.MapSplitter;
-import io.wcm.devops.conga.model.util.MapSplitter.SplitResult;
 
 final class JexlResolver {
 
-  private static final int CACHE_SIZE = 1024;
-
-  private final JexlEngine jexl;
+  private final SharedJexlEngine jexl;
   private final VariableMapResolver variableMapResolver;
 
-  private static final Map<String, Object> JEXL_FUNCTION_NS = Map.of(
-      "stringUtils", StringUtils.class);
-
   JexlResolver(VariableMapResolver variableMapResolver) {
-    this.jexl = new JexlBuilder()
-        .cache(CACHE_SIZE)
-        .namespaces(JEXL_FUNCTION_NS)
-        .permissions(JexlPermissions.UNRESTRICTED)
-        .create();
+    this.jexl = SharedJexlEngine.get();
     this.variableMapResolver = variableMapResolver;
   }
 
   public Object resolve(String expressionString, Map<String, Object> variables) {
-    Map<String, Object> resolvedVariables = resolveMapWithoutCycles(variables);
     try {
       JexlExpression expression = jexl.createExpression(expressionString);
-      JexlContext context = new MapContext(resolvedVariables);
+      // resolve only variables accessed by the expression
+      JexlContext context = new LazyJexlContext(variables, variableMapResolver);
       return expression.evaluate(context);
     }
     catch (JexlException ex) {
@@ -73,51 +49,4 @@ final class JexlResolver {
     }
   }
 
-  private Map<String, Object> resolveMapWithoutCycles(Map<String, Object> variables) {
-
-    // split out variables with values containing expressions that are not simple variable references
-    SplitResult splitResult = MapSplitter.splitMap(variables, entry -> {
-      if (entry.getValue() instanceof List) {
-        for (Object item : (List)entry.getValue()) {
-          if ((item instanceof String)
-              && hasJexlExpresssions((String)item)) {
-            return false;
-          }
-        }
-      }
-      else if (entry.getValue() instanceof String) {
-        return !hasJexlExpresssions((String)entry.getValue());
-      }
-      return true;
-    });
-
-    // resolve simple variable references inside map
-    Map<String, Object> resolvedVariables = variableMapResolver.resolve(splitResult.getMatching());
-
-    // add back variables with complex expressions without resolving them
-    resolvedVariables = MapMerger.merge(resolvedVariables, splitResult.getUnmatching());
-
-    return resolvedVariables;
-  }
-
-  private boolean hasJexlExpresssions(String expressionString) {
-    Matcher matcher = MULTI_EXPRESSION_PATTERN.matcher(expressionString);
-    while (matcher.find()) {
-
-      boolean escapedVariable = StringUtils.equals(matcher.group(EXPRESSION_POS_DOLLAR_SIGN), "\\$");
-      String expression = matcher.group(EXPRESSION_POS_EXPRESSION);
-
-      // keep escaped variables intact
-      if (!escapedVariable) {
-        Matcher variableMatcher = VARIABLE_PATTERN.matcher(expression);
-        // if expression found that matches not the variable pattern this string contains Jexl expressions
-        if (!variableMatcher.matches()) {
-          return true;
-        }
-      }
-
-    }
-    return false;
-  }
-
 }
@@ -0,0 +1,165 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.jexl3.JexlContext;
+
+import io.wcm.devops.conga.generator.util.VariableStringParser.SegmentType;
+import io.wcm.devops.conga.model.util.MapMerger;
+import io.wcm.devops.conga.model.util.MapSplitter;
+import io.wcm.devops.conga.model.util.MapSplitter.SplitResult;
+
+/**
+ * JEXL context that resolves variable references in the values of the variable map only when they are accessed
+ * by the expression. Resolved values are memoized for the lifetime of the context.
+ * <p>
+ * Values containing JEXL expressions themselves are returned as they are. Simple variable references are resolved
+ * against a view of the variable map that hides all values with JEXL expressions, to avoid cycles between
+ * expressions.
+ * </p>
+ */
+final class LazyJexlContext implements JexlContext {
+
+  private final Map<String, Object> variables;
+  private final Map<String, Object> simpleVariables;
+  private final VariableMapResolver variableMapResolver;
+  private final Map<String, Object> resolvedVariables = new HashMap<>();
+
+  /**
+   * @param variables Variables
+   * @param variableMapResolver Variable map resolver
+   */
+  LazyJexlContext(Map<String, Object> variables, VariableMapResolver variableMapResolver) {
+    this.variables = variables;
+    this.simpleVariables = new SimpleValueMap(variables);
+    this.variableMapResolver = variableMapResolver;
+  }
+
+  @Override
+  public Object get(String name) {
+    if (resolvedVariables.containsKey(name)) {
+      return resolvedVariables.get(name);
+    }
+    Object value = resolve(variables.get(name));
+    resolvedVariables.put(name, value);
+    return value;
+  }
+
+  @Override
+  public void set(String name, Object value) {
+    resolvedVariables.put(name, value);
+  }
+
+  @Override
+  public boolean has(String name) {
+    return resolvedVariables.containsKey(name) || variables.containsKey(name);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object resolve(Object value) {
+    if (value instanceof Map) {
+      // resolve only nested values without JEXL expressions, keep the others as they are
+      SplitResult splitResult = MapSplitter.splitMap((Map<String, Object>)value, entry -> isSimpleValue(entry.getValue()));
+      Map<String, Object> resolved = (Map<String, Object>)variableMapResolver.resolveValue(splitResult.getMatching(), simpleVariables);
+      return MapMerger.merge(resolved, splitResult.getUnmatching());
+    }
+    else if (isSimpleValue(value)) {
+      return variableMapResolver.resolveValue(value, simpleVariables);
+    }
+    else {
+      return value;
+    }
+  }
+
+  /**
+   * @param value Value
+   * @return true if the value (or any nested value) does not contain JEXL expressions that are not simple variable
+   *         references
+   */
+  @SuppressWarnings("unchecked")
+  static boolean isSimpleValue(Object value) {
+    if (value instanceof String) {
+      return !hasJexlExpressions((String)value);
+    }
+    else if (value instanceof List) {
+      return ((List<Object>)value).stream().allMatch(LazyJexlContext::isSimpleValue);
+    }
+    else if (value instanceof Map) {
+      return ((Map<String, Object>)value).values().stream().allMatch(LazyJexlContext::isSimpleValue);
+    }
+    return true;
+  }
+
+  private static boolean hasJexlExpressions(String value) {
+    // if expression found that matches not the variable pattern this string contains Jexl expressions (escaped variables are ignored)
+    return VariableStringParser.parse(value).getSegments().stream()
+        .anyMatch(segment -> segment.getType() == SegmentType.JEXL);
+  }
+
+  /**
+   * Read-only view of a variable map that contains only values without JEXL expressions.
+   * Nested maps are filtered as well.
+   */
+  private static final class SimpleValueMap extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> map;
+
+    SimpleValueMap(Map<String, Object> map) {
+      this.map = map;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.containsKey(key) && isVisible(map.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(Object key) {
+      Object value = map.get(key);
+      if (value instanceof Map) {
+        return new SimpleValueMap((Map<String, Object>)value);
+      }
+      return isVisible(value) ? value : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return map.keySet().stream()
+          .filter(this::containsKey)
+          .map(key -> new SimpleImmutableEntry<>(key, get(key)))
+          .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static boolean isVisible(Object value) {
+      return value instanceof Map || isSimpleValue(value);
+    }
+
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import io.wcm.devops.conga.model.shared.LineEndings;
+
+/**
+ * Writer that normalizes all line endings (Windows, Unix or MacOS-style) on the fly and converts them to
+ * the given line ending style while the characters are written.
+ * Produces the same result as {@link LineEndingConverter#normalizeToUnix(String)} followed by
+ * {@link LineEndingConverter#convertTo(String, LineEndings)}, but without holding the whole content in memory.
+ */
+public final class LineEndingWriter extends FilterWriter {
+
+  private final String lineEnding;
+  // a line feed directly following a carriage return is skipped, also if it is passed in the next write operation
+  private boolean pendingCarriageReturn;
+
+  /**
+   * @param out Writer to write to
+   * @param lineEndings Line ending style. If null unix line endings are used.
+   */
+  public LineEndingWriter(Writer out, LineEndings lineEndings) {
+    super(out);
+    this.lineEnding = (lineEndings != null ? lineEndings : LineEndings.unix).getLineEnding();
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    write(new char[] { (char)c }, 0, 1);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    int start = off;
+    int end = off + len;
+    for (int i = off; i < end; i++) {
+      char c = cbuf[i];
+      if (pendingCarriageReturn) {
+        pendingCarriageReturn = false;
+        if (c == '\n') {
+          // second part of windows line ending - already written
+          start = i + 1;
+          continue;
+        }
+      }
+      if (c == '\r' || c == '\n') {
+        out.write(cbuf, start, i - start);
+        out.write(lineEnding);
+        pendingCarriageReturn = (c == '\r');
+        start = i + 1;
+      }
+    }
+    out.write(cbuf, start, end - start);
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    char[] chars = new char[len];
+    str.getChars(off, off + len, chars, 0);
+    write(chars, 0, len);
+  }
+
+}
@@ -31,6 +31,7 @@ import io.wcm.devops.conga.generator.ContextPropertiesBuilder;
 import io.wcm.devops.conga.generator.spi.ValueEncryptionPlugin;
 import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
 import io.wcm.devops.conga.generator.spi.context.ValueEncryptionContext;
+import io.wcm.devops.conga.model.util.SharedValue;
 
 /**
  * Processes map of CONGA configuration parameters before serializing them in a model export file.
@@ -90,6 +91,10 @@ public final class ModelExportConfigProcessor {
     if (value == null) {
       return null;
     }
+    if (value instanceof SharedValue) {
+      // shared context values are exported as they are
+      return value;
+    }
     if (value instanceof Map) {
       return encryptSensitiveValues((Map<String, Object>)value, parameterName + ".");
     }
@@ -21,7 +21,7 @@ package io.wcm.devops.conga.generator.util;
 
 import java.io.Serializable;
 
-import org.apache.commons.lang3.SerializationUtils;
+import io.wcm.devops.conga.model.util.ModelCloner;
 
 /**
  * Clone maps.
@@ -33,17 +33,16 @@ public final class ObjectCloner {
   }
 
   /**
-   * Deep clones an object.
+   * Deep clones an object. Model objects, maps, lists and their values are copied directly without serialization.
    * @param <T> Type is expected to be serializable (but not enforced here to also support e.g. Map interface variables)
    * @param input Input object
    * @return Cloned object
    */
-  @SuppressWarnings("unchecked")
   public static <T> T deepClone(T input) {
     if (!(input instanceof Serializable)) {
       throw new IllegalArgumentException("Input not serializable: " + input);
     }
-    return (T)SerializationUtils.clone((Serializable)input);
+    return ModelCloner.deepClone(input);
   }
 
 }
@@ -20,6 +20,7 @@
 package io.wcm.devops.conga.generator.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -62,6 +63,30 @@ public final class RoleUtil {
     return resolveRole(roleName, environmentContext, roles, 0);
   }
 
+  /**
+   * Resolve role inheritance. The resolved roles are cached in the given cache map, so the inheritance relations
+   * are resolved only once per role name.
+   * The returned roles are shared between all callers and must not be modified.
+   * @param roleName Role name - role may contain inheritance relations
+   * @param environmentContext Context information.
+   * @param roles All roles for the system
+   * @param resolvedRoleCache Cache map for resolved roles, has to be thread-safe if used concurrently
+   * @return Resolved role(s) without pending inheritance relations (read-only).
+   * @throws GeneratorException when role or any of it's inheritance relations is not found
+   */
+  public static Map<String, Role> resolveRole(String roleName, String environmentContext, Map<String, Role> roles,
+      Map<String, Map<String, Role>> resolvedRoleCache) throws GeneratorException {
+    Map<String, Role> resolvedRoles = resolvedRoleCache.get(roleName);
+    if (resolvedRoles == null) {
+      resolvedRoles = Collections.unmodifiableMap(resolveRole(roleName, environmentContext, roles, 0));
+      Map<String, Role> existing = resolvedRoleCache.putIfAbsent(roleName, resolvedRoles);
+      if (existing != null) {
+        resolvedRoles = existing;
+      }
+    }
+    return resolvedRoles;
+  }
+
   private static Map<String, Role> resolveRole(String roleName, String environmentContext, Map<String, Role> roles, int inheritLevel)
       throws GeneratorException {
     if (inheritLevel > INHERIT_MAX_LEVEL) {
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.util.Map;
+
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.introspection.JexlPermissions;
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Process-wide JEXL engine shared by all variable resolvers, with a size-bounded cache of parsed expressions.
+ * Identical expressions are parsed only once per process, independent of the number of resolver instances.
+ * <p>
+ * The cache size can be configured with the system property {@value #PROPERTY_CACHE_SIZE}
+ * (default: {@value #DEFAULT_CACHE_SIZE} expressions).
+ * </p>
+ */
+public final class SharedJexlEngine {
+
+  /**
+   * System property to configure the maximum number of parsed expressions that are cached.
+   */
+  public static final String PROPERTY_CACHE_SIZE = "conga.jexl.cacheSize";
+
+  static final int DEFAULT_CACHE_SIZE = 4096;
+
+  private static final Map<String, Object> JEXL_FUNCTION_NS = Map.of(
+      "stringUtils", StringUtils.class);
+
+  private static final SharedJexlEngine INSTANCE = new SharedJexlEngine(Integer.getInteger(PROPERTY_CACHE_SIZE, DEFAULT_CACHE_SIZE));
+
+  private final JexlEngine jexl;
+  private final Cache<String, JexlExpression> expressionCache;
+
+  SharedJexlEngine(int cacheSize) {
+    // parsed expressions are cached in the expression cache, the internal cache of the engine is not used
+    this.jexl = new JexlBuilder()
+        .cache(0)
+        .namespaces(JEXL_FUNCTION_NS)
+        .permissions(JexlPermissions.UNRESTRICTED)
+        .create();
+    this.expressionCache = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * @return Shared JEXL engine instance
+   */
+  public static SharedJexlEngine get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get parsed expression from cache, or parse it if it is not cached yet.
+   * Parsed expressions are immutable and can be evaluated concurrently.
+   * @param expression Expression string
+   * @return Parsed expression
+   * @throws org.apache.commons.jexl3.JexlException If the expression is invalid
+   */
+  JexlExpression createExpression(String expression) {
+    return expressionCache.get(expression, jexl::createExpression);
+  }
+
+  /**
+   * @return Statistics of the parsed expression cache (hit count, miss count, hit rate, eviction count)
+   */
+  public CacheStats getCacheStats() {
+    return expressionCache.stats();
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.wcm.devops.conga.model.util.SharedValue;
+
+/**
+ * Caches the fingerprints of {@link SharedValue} instances. The context values like the list of nodes or tenants
+ * are shared by reference by the configurations of all files of an environment, so they are fingerprinted only once.
+ */
+public final class SharedValueFingerprints {
+
+  private final Map<SharedValue, String> fingerprints = Collections.synchronizedMap(new IdentityHashMap<>());
+
+  /**
+   * Get fingerprint of the given shared value.
+   * @param value Shared value
+   * @return Fingerprint as hex string
+   */
+  String get(SharedValue value) {
+    // no computeIfAbsent - shared values may contain other shared values which are fingerprinted recursively
+    String fingerprint = fingerprints.get(value);
+    if (fingerprint == null) {
+      fingerprint = new FingerprintBuilder(this).addValue(value).build();
+      fingerprints.put(value, fingerprint);
+    }
+    return fingerprint;
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.wcm.devops.conga.generator.spi.ValueProviderPlugin;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderContext;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.model.environment.Environment;
+import io.wcm.devops.conga.model.environment.Node;
+import io.wcm.devops.conga.model.shared.Configurable;
+
+/**
+ * Collects all references to value providers in the configuration of all {@link Configurable} items of the environment
+ * and the nodes to be generated, and fetches their values with a single batch call per value provider before the
+ * generation starts. Values that are not returned by the batch call are resolved one by one when required.
+ */
+public final class ValueProviderPrefetcher extends AbstractConfigurableObjectTreeProcessor<Object> {
+
+  private static final String NODES_PROPERTY = "nodes";
+
+  private final ValueProviderGlobalContext valueProviderGlobalContext;
+  private final VariableResolver variableResolver;
+
+  /**
+   * @param valueProviderGlobalContext Value provider global context
+   */
+  public ValueProviderPrefetcher(ValueProviderGlobalContext valueProviderGlobalContext) {
+    // nodes are processed separately to include only the nodes to be generated
+    super(Set.of(NODES_PROPERTY));
+    this.valueProviderGlobalContext = valueProviderGlobalContext;
+    this.variableResolver = new VariableResolver(valueProviderGlobalContext);
+  }
+
+  /**
+   * Prefetch values of all value provider references.
+   * @param environment Environment including tenants, but without it's nodes
+   * @param nodes Nodes to be generated
+   */
+  public void prefetch(Environment environment, List<Node> nodes) {
+    Map<String, Set<String>> references = new LinkedHashMap<>();
+    ConfigurableProcessor<Object> collector = (configurable, payload) -> {
+      collectReferences(configurable.getConfig(), references);
+      return null;
+    };
+    process(environment, collector, null);
+    process(nodes, collector, null);
+
+    for (Map.Entry<String, Set<String>> entry : references.entrySet()) {
+      ValueProviderContext valueProviderContext = new ValueProviderContext()
+          .valueProviderGlobalContext(valueProviderGlobalContext)
+          .valueProviderName(entry.getKey());
+      ValueProviderPlugin valueProvider = variableResolver.getValueProvider(valueProviderContext);
+      Map<String, Object> values = valueProvider.resolveBatch(entry.getValue(), valueProviderContext);
+      if (values != null && !values.isEmpty()) {
+        valueProviderGlobalContext.setPrefetchedValues(entry.getKey(), values);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void collectReferences(Object value, Map<String, Set<String>> references) {
+    if (value instanceof String) {
+      VariableStringResolver.collectValueProviderReferences((String)value, (valueProviderName, variable) -> references
+          .computeIfAbsent(valueProviderName, key -> new LinkedHashSet<>()).add(variable));
+    }
+    else if (value instanceof List) {
+      ((List<Object>)value).forEach(item -> collectReferences(item, references));
+    }
+    else if (value instanceof Map) {
+      ((Map<String, Object>)value).values().forEach(item -> collectReferences(item, references));
+    }
+  }
+
+}
@@ -0,0 +1,421 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static io.wcm.devops.conga.generator.util.VariableMapResolver.ITEM_INDEX_VARIABLE;
+import static io.wcm.devops.conga.generator.util.VariableMapResolver.ITEM_VARIABLE;
+import static io.wcm.devops.conga.generator.util.VariableMapResolver.LIST_VARIABLE_ITERATE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.wcm.devops.conga.generator.util.VariableStringParser.ParsedString;
+import io.wcm.devops.conga.generator.util.VariableStringParser.Segment;
+import io.wcm.devops.conga.generator.util.VariableStringParser.SegmentType;
+import io.wcm.devops.conga.model.util.PersistentMap;
+import io.wcm.devops.conga.model.util.SharedValue;
+
+/**
+ * Graph of variable references between the values of a config map.
+ * <p>
+ * All values that need to be resolved (strings with variable references or expressions, and maps with
+ * {@link VariableMapResolver#LIST_VARIABLE_ITERATE}) are collected once together with the paths of the config
+ * entries they reference. The values are then resolved exactly once in topological order, so all referenced
+ * values are already resolved when a value is resolved. Cyclic references are reported with the exact chain of keys.
+ * </p>
+ * <p>
+ * References inside JEXL expressions and to value providers are not part of the graph - JEXL expressions resolve
+ * the variables they need on their own.
+ * </p>
+ */
+final class VariableMapDependencyGraph {
+
+  private static final char PATH_SEPARATOR = '\u0000';
+  private static final String LIST_INDEX_PREFIX = "\u0001";
+
+  private final Map<String, Object> config;
+  private final List<Unit> units = new ArrayList<>();
+  private final Map<String, Unit> unitsByPath = new HashMap<>();
+  private final Map<String, List<Unit>> unitsByAncestorPath = new HashMap<>();
+  private final List<List<Object>> escapedPaths = new ArrayList<>();
+  private final Set<Object> copiedContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+  private Map<String, Object> result;
+
+  /**
+   * @param config Config map with values with variable placeholders
+   */
+  VariableMapDependencyGraph(Map<String, Object> config) {
+    this.config = config;
+    collectUnits(config, new ArrayList<>(), "");
+  }
+
+  /**
+   * Resolves all values in topological order of their references.
+   * @param resolver Function to resolve a single value (string or map to iterate) with the given variables
+   * @return Config map with all values resolved. If nothing was resolved the original map is returned.
+   * @throws IllegalArgumentException when a cyclic reference is detected
+   */
+  @SuppressWarnings("unchecked")
+  Map<String, Object> resolve(BiFunction<Object, Map<String, Object>, Object> resolver) {
+    result = config;
+    // iterate is not supported on the config map itself
+    if (config instanceof PersistentMap) {
+      result = ((PersistentMap<String, Object>)config).without(LIST_VARIABLE_ITERATE);
+    }
+    else if (config.containsKey(LIST_VARIABLE_ITERATE)) {
+      result = new HashMap<>(config);
+      result.remove(LIST_VARIABLE_ITERATE);
+      copiedContainers.add(result);
+    }
+    Map<Unit, Boolean> visited = new IdentityHashMap<>();
+    List<Unit> stack = new ArrayList<>();
+    for (Unit unit : units) {
+      resolve(unit, resolver, visited, stack);
+    }
+    return result;
+  }
+
+  /**
+   * Checks if any of the values resolved by {@link #resolve(BiFunction)} matches the given predicate.
+   * All other values did not contain any resolvable segments, so only these values may contain further references
+   * returned by value providers or JEXL expressions.
+   * @param predicate Predicate
+   * @return true if any resolved value matches
+   */
+  boolean anyResolvedValueMatches(Predicate<Object> predicate) {
+    for (Unit unit : units) {
+      if (predicate.test(get(result, unit.path))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * De-escapes the values resolved by {@link #resolve(BiFunction)} and all other values that contain escaped
+   * variables. Those are the only values that may have to be de-escaped, so the config map is not traversed again.
+   * Like when resolving values, only maps and lists on the path to changed values are copied.
+   * @param deescaper Function to de-escape a single value (string, list or map)
+   * @return Config map with all values de-escaped
+   */
+  Map<String, Object> deescape(UnaryOperator<Object> deescaper) {
+    for (Unit unit : units) {
+      deescape(unit.path, deescaper);
+    }
+    for (List<Object> path : escapedPaths) {
+      deescape(path, deescaper);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
+  private void deescape(List<Object> path, UnaryOperator<Object> deescaper) {
+    Object value = get(result, path);
+    Object deescapedValue = deescaper.apply(value);
+    if (value != deescapedValue) {
+      set(path, deescapedValue);
+    }
+  }
+
+  private void resolve(Unit unit, BiFunction<Object, Map<String, Object>, Object> resolver,
+      Map<Unit, Boolean> visited, List<Unit> stack) {
+    Boolean done = visited.get(unit);
+    if (done != null) {
+      if (!done) {
+        throw new IllegalArgumentException("Cyclic dependencies in config map detected: "
+            + stack.subList(stack.indexOf(unit), stack.size()).stream()
+                .map(item -> item.name)
+                .collect(Collectors.joining(" -> "))
+            + " -> " + unit.name);
+      }
+      return;
+    }
+    visited.put(unit, false);
+    stack.add(unit);
+    for (Unit dependency : getDependencies(unit)) {
+      resolve(dependency, resolver, visited, stack);
+    }
+    stack.remove(stack.size() - 1);
+    visited.put(unit, true);
+
+    Object resolvedValue = resolver.apply(unit.value, result);
+    if (!Objects.equals(unit.value, resolvedValue)) {
+      set(unit.path, resolvedValue);
+    }
+  }
+
+  private Set<Unit> getDependencies(Unit unit) {
+    Set<Unit> dependencies = new LinkedHashSet<>();
+    for (String reference : unit.references) {
+      String targetPath = getTargetPath(reference);
+      if (targetPath == null) {
+        continue;
+      }
+      // all values inside the referenced entry
+      dependencies.addAll(unitsByAncestorPath.getOrDefault(targetPath, List.of()));
+      // map to iterate containing the referenced entry
+      int pos = targetPath.lastIndexOf(PATH_SEPARATOR);
+      while (pos > 0) {
+        Unit ancestor = unitsByPath.get(targetPath.substring(0, pos));
+        if (ancestor != null) {
+          dependencies.add(ancestor);
+        }
+        pos = targetPath.lastIndexOf(PATH_SEPARATOR, pos - 1);
+      }
+    }
+    if (unit.iterate) {
+      // references from inside the map to iterate to the map itself are no dependency
+      dependencies.remove(unit);
+    }
+    return dependencies;
+  }
+
+  /**
+   * Gets path of the config entry a variable references in the same way as
+   * {@link io.wcm.devops.conga.model.util.MapExpander#getDeep(Map, String)} accesses it.
+   */
+  @SuppressWarnings("unchecked")
+  private String getTargetPath(String reference) {
+    Map<String, Object> map = config;
+    StringBuilder path = new StringBuilder();
+    String key = reference;
+    while (true) {
+      if (map.containsKey(key)) {
+        return path.append(PATH_SEPARATOR).append(key).toString();
+      }
+      if (!StringUtils.contains(key, ".")) {
+        return null;
+      }
+      String keyPart = StringUtils.substringBefore(key, ".");
+      Object value = map.get(keyPart);
+      if (!(value instanceof Map)) {
+        return null;
+      }
+      path.append(PATH_SEPARATOR).append(keyPart);
+      map = (Map<String, Object>)value;
+      key = StringUtils.substringAfter(key, ".");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void collectUnits(Object value, List<Object> path, String pathKey) {
+    // shared values are never resolved
+    if (value instanceof SharedValue) {
+      return;
+    }
+    if (value instanceof String) {
+      ParsedString parsed = VariableStringParser.parse((String)value);
+      if (parsed.hasResolvableSegments()) {
+        Unit unit = new Unit(value, path, false);
+        collectReferences((String)value, unit.references);
+        addUnit(unit, pathKey);
+      }
+      else if (parsed.hasEscapedSegments()) {
+        escapedPaths.add(path);
+      }
+    }
+    else if (value instanceof List) {
+      List<Object> list = (List<Object>)value;
+      for (int i = 0; i < list.size(); i++) {
+        collectUnits(list.get(i), append(path, i), pathKey + PATH_SEPARATOR + LIST_INDEX_PREFIX + i);
+      }
+    }
+    else if (value instanceof Map) {
+      Map<String, Object> map = (Map<String, Object>)value;
+      if (!path.isEmpty() && map.containsKey(LIST_VARIABLE_ITERATE)) {
+        Unit unit = new Unit(value, path, true);
+        collectIterateReferences(map, unit.references);
+        addUnit(unit, pathKey);
+      }
+      else {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+          if (!StringUtils.equals(entry.getKey(), LIST_VARIABLE_ITERATE)) {
+            collectUnits(entry.getValue(), append(path, entry.getKey()), pathKey + PATH_SEPARATOR + entry.getKey());
+          }
+        }
+      }
+    }
+  }
+
+  private void addUnit(Unit unit, String pathKey) {
+    units.add(unit);
+    unitsByPath.put(pathKey, unit);
+    int pos = pathKey.length();
+    while (pos > 0) {
+      unitsByAncestorPath.computeIfAbsent(pathKey.substring(0, pos), key -> new ArrayList<>()).add(unit);
+      pos = pathKey.lastIndexOf(PATH_SEPARATOR, pos - 1);
+    }
+  }
+
+  private static void collectReferences(String value, Set<String> references) {
+    for (Segment segment : VariableStringParser.parse(value).getSegments()) {
+      if (segment.getType() == SegmentType.VARIABLE && StringUtils.isEmpty(segment.getValueProviderName())) {
+        references.add(segment.getVariable());
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void collectIterateReferences(Object value, Set<String> references) {
+    if (value instanceof String) {
+      Set<String> valueReferences = new LinkedHashSet<>();
+      collectReferences((String)value, valueReferences);
+      // item variables are only defined inside the map to iterate
+      valueReferences.stream()
+          .filter(reference -> !isItemVariable(reference))
+          .forEach(references::add);
+    }
+    else if (value instanceof List) {
+      ((List<Object>)value).forEach(item -> collectIterateReferences(item, references));
+    }
+    else if (value instanceof Map) {
+      ((Map<String, Object>)value).values().forEach(item -> collectIterateReferences(item, references));
+    }
+  }
+
+  private static boolean isItemVariable(String reference) {
+    String name = StringUtils.substringBefore(reference, ".");
+    return StringUtils.equals(name, ITEM_VARIABLE) || StringUtils.equals(name, ITEM_INDEX_VARIABLE);
+  }
+
+  /**
+   * Sets resolved value in result map. All maps and lists on the path are copied once before they are modified,
+   * all other maps and lists are kept as they are. Persistent maps on the path are not copied, but derived
+   * with the changed entry.
+   */
+  @SuppressWarnings("unchecked")
+  private void set(List<Object> path, Object value) {
+    result = (Map<String, Object>)set(result, path, 0, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object set(Object container, List<Object> path, int index, Object value) {
+    Object key = path.get(index);
+    Object childValue = value;
+    if (index < path.size() - 1) {
+      childValue = set(get(container, key), path, index + 1, value);
+    }
+    if (container instanceof PersistentMap) {
+      return ((PersistentMap<String, Object>)container).with((String)key, childValue);
+    }
+    Object copy = copyIfRequired(container);
+    put(copy, key, childValue);
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object copyIfRequired(Object container) {
+    if (copiedContainers.contains(container)) {
+      return container;
+    }
+    Object copy;
+    if (container instanceof Map) {
+      copy = new HashMap<>((Map<String, Object>)container);
+    }
+    else {
+      copy = new ArrayList<>((List<Object>)container);
+    }
+    copiedContainers.add(copy);
+    return copy;
+  }
+
+  private static Object get(Object container, List<Object> path) {
+    Object value = container;
+    for (Object key : path) {
+      value = get(value, key);
+    }
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object get(Object container, Object key) {
+    if (container instanceof Map) {
+      return ((Map<String, Object>)container).get(key);
+    }
+    return ((List<Object>)container).get((Integer)key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void put(Object container, Object key, Object value) {
+    if (container instanceof Map) {
+      ((Map<String, Object>)container).put((String)key, value);
+    }
+    else {
+      ((List<Object>)container).set((Integer)key, value);
+    }
+  }
+
+  private static List<Object> append(List<Object> path, Object key) {
+    List<Object> result = new ArrayList<>(path.size() + 1);
+    result.addAll(path);
+    result.add(key);
+    return result;
+  }
+
+  /**
+   * Value that needs to be resolved.
+   */
+  private static final class Unit {
+
+    private final Object value;
+    private final List<Object> path;
+    private final boolean iterate;
+    private final String name;
+    private final Set<String> references = new LinkedHashSet<>();
+
+    Unit(Object value, List<Object> path, boolean iterate) {
+      this.value = value;
+      this.path = path;
+      this.iterate = iterate;
+      this.name = toName(path);
+    }
+
+    private static String toName(List<Object> path) {
+      StringBuilder name = new StringBuilder();
+      for (Object key : path) {
+        if (key instanceof Integer) {
+          name.append('[').append(key).append(']');
+        }
+        else {
+          if (name.length() > 0) {
+            name.append('.');
+          }
+          name.append(key);
+        }
+      }
+      return name.toString();
+    }
+
+  }
+
+}
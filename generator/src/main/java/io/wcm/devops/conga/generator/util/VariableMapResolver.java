@@ -19,17 +19,17 @@
  */
 package io.wcm.devops.conga.generator.util;
 
-import static io.wcm.devops.conga.generator.util.VariableStringResolver.SINGLE_EXPRESSION_PATTERN;
-
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
+import java.util.Set;
 
 import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.model.util.SharedValue;
 
 /**
  * Resolve variables in a map referencing other entries from the same map.
@@ -85,7 +85,39 @@ public final class VariableMapResolver {
    * @throws IllegalArgumentException when a variable name could not be resolved.
    */
   public Map<String, Object> resolve(Map<String, Object> config, boolean deescapeVariables) {
-    return resolve(config, deescapeVariables, 0);
+    // resolve all values once in order of their references
+    VariableMapDependencyGraph graph = new VariableMapDependencyGraph(config);
+    Map<String, Object> resolved = graph.resolve(this::replaceAny);
+
+    // values returned by value providers or JEXL expressions may contain further references
+    if (graph.anyResolvedValueMatches(VariableMapResolver::hasResolvableValues)) {
+      return resolve(resolved, deescapeVariables, 0);
+    }
+    if (deescapeVariables) {
+      // de-escape only resolved values and values known to contain escaped variables
+      return graph.deescape(this::deescapeAny);
+    }
+    return resolved;
+  }
+
+  /**
+   * Replace variable placeholders in a single value (string, list or map) with values from the given variables.
+   * All escaped variables are deescaped.
+   * @param value Value with variable placeholders
+   * @param variables Variables
+   * @return Value with variable placeholders resolved
+   * @throws IllegalArgumentException when a variable name could not be resolved.
+   */
+  Object resolveValue(Object value, Map<String, Object> variables) {
+    Object result = value;
+    int iterationCount = 0;
+    while (hasResolvableValues(result)) {
+      if (iterationCount++ >= REPLACEMENT_MAX_ITERATIONS) {
+        throw new IllegalArgumentException("Cyclic dependencies in value detected: " + value);
+      }
+      result = replaceAny(result, variables);
+    }
+    return deescapeAny(result);
   }
 
   /**
@@ -120,8 +152,30 @@ public final class VariableMapResolver {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static boolean hasResolvableValues(Object value) {
+    if (value instanceof SharedValue) {
+      return false;
+    }
+    if (value instanceof String) {
+      return VariableStringParser.parse((String)value).hasResolvableSegments();
+    }
+    else if (value instanceof List) {
+      return ((List<Object>)value).stream().anyMatch(VariableMapResolver::hasResolvableValues);
+    }
+    else if (value instanceof Map) {
+      Map<String, Object> map = (Map<String, Object>)value;
+      return map.containsKey(LIST_VARIABLE_ITERATE)
+          || map.values().stream().anyMatch(VariableMapResolver::hasResolvableValues);
+    }
+    return false;
+  }
+
   @SuppressWarnings("unchecked")
   private Object replaceAny(Object value, Map<String, Object> variables) {
+    if (value instanceof SharedValue) {
+      return value;
+    }
     if (value instanceof String) {
       return replaceObject((String)value, variables);
     }
@@ -195,11 +249,11 @@ public final class VariableMapResolver {
   private List<Object> replaceIterate(Map<String, Object> map, Map<String, Object> variables) {
     Object listObject = map.get(LIST_VARIABLE_ITERATE);
     if (listObject instanceof String) {
-      Matcher matcher = SINGLE_EXPRESSION_PATTERN.matcher((String)listObject);
-      if (matcher.matches()) {
-        listObject = variableStringResolver.resolve((String)listObject, variables);
+      String listExpression = (String)listObject;
+      if (VariableStringParser.parse(listExpression).isSingleExpression()) {
+        listObject = variableStringResolver.resolve(listExpression, variables);
         if (listObject == null) {
-          throw new IllegalArgumentException("Unable to resolve variable: " + matcher.group(0));
+          throw new IllegalArgumentException("Unable to resolve variable: " + listExpression);
         }
       }
     }
@@ -207,19 +261,20 @@ public final class VariableMapResolver {
       // allow to iterate over single values as well
       listObject = List.of(listObject);
     }
-    Map<String, Object> variablesClone = new LinkedHashMap<>(ObjectCloner.deepClone(variables));
     List<Object> result = new ArrayList<>();
     int count = 0;
     for (Object item : (List<Object>)listObject) {
-      variablesClone.put(ITEM_VARIABLE, item);
-      variablesClone.put(ITEM_INDEX_VARIABLE, count++);
-      result.add(replaceMap(map, variablesClone));
+      // item variables are added as overlay on top of the variables, the variables map itself is not copied
+      result.add(replaceMap(map, new IterateVariables(variables, item, count++)));
     }
     return result;
   }
 
   @SuppressWarnings("unchecked")
   private Object deescapeAny(Object value) {
+    if (value instanceof SharedValue) {
+      return value;
+    }
     if (value instanceof String) {
       return deescapeString((String)value);
     }
@@ -238,28 +293,84 @@ public final class VariableMapResolver {
     return variableStringResolver.deescape(value);
   }
 
+  /**
+   * De-escapes all items in the list. The list is only copied if any item is changed.
+   */
   @SuppressWarnings("PMD.CompareObjectsWithEquals")
   private List<Object> deescapeList(List<Object> list) {
-    List<Object> listCopy = new ArrayList<>(list);
-    for (int i = 0; i < listCopy.size(); i++) {
-      Object item = listCopy.get(i);
+    List<Object> listCopy = null;
+    for (int i = 0; i < list.size(); i++) {
+      Object item = list.get(i);
       Object deescapedValue = deescapeAny(item);
       if (item != deescapedValue) {
+        if (listCopy == null) {
+          listCopy = new ArrayList<>(list);
+        }
         listCopy.set(i, deescapedValue);
       }
     }
-    return listCopy;
+    return listCopy != null ? listCopy : list;
   }
 
+  /**
+   * De-escapes all values in the map. The map is only copied if any value is changed.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
   private Map<String, Object> deescapeMap(Map<String, Object> map) {
-    Map<String, Object> mapCopy = new HashMap<>(map);
-    for (Map.Entry<String, Object> entry : mapCopy.entrySet()) {
+    Map<String, Object> mapCopy = null;
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
       Object deescapedValue = deescapeAny(entry.getValue());
-      if (!Objects.equals(entry.getValue(), deescapedValue)) {
-        entry.setValue(deescapedValue);
+      if (entry.getValue() != deescapedValue) {
+        if (mapCopy == null) {
+          mapCopy = new HashMap<>(map);
+        }
+        mapCopy.put(entry.getKey(), deescapedValue);
       }
     }
-    return mapCopy;
+    return mapCopy != null ? mapCopy : map;
+  }
+
+  /**
+   * Read-only view on variables with the item variables of the current iteration of {@link #LIST_VARIABLE_ITERATE}.
+   * Item variables of an outer iteration are hidden by the item variables of the inner iteration.
+   */
+  private static final class IterateVariables extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> variables;
+    private final Object item;
+    private final int itemIndex;
+
+    IterateVariables(Map<String, Object> variables, Object item, int itemIndex) {
+      this.variables = variables;
+      this.item = item;
+      this.itemIndex = itemIndex;
+    }
+
+    @Override
+    public Object get(Object key) {
+      if (ITEM_VARIABLE.equals(key)) {
+        return item;
+      }
+      if (ITEM_INDEX_VARIABLE.equals(key)) {
+        return itemIndex;
+      }
+      return variables.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return ITEM_VARIABLE.equals(key) || ITEM_INDEX_VARIABLE.equals(key) || variables.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      // full copy is only created when all variables are enumerated
+      Map<String, Object> allVariables = new HashMap<>(variables);
+      allVariables.put(ITEM_VARIABLE, item);
+      allVariables.put(ITEM_INDEX_VARIABLE, itemIndex);
+      return Collections.unmodifiableMap(allVariables).entrySet();
+    }
+
   }
 
 }
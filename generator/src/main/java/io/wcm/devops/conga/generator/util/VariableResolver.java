@@ -62,14 +62,14 @@ public final class VariableResolver {
           .valueProviderName(valueProviderName);
       ValueProviderPlugin valueProvider = getValueProvider(valueProviderContext);
 
-      result = valueProvider.resolve(variable, valueProviderContext);
+      result = resolveFromValueProvider(valueProvider, variable, valueProviderContext);
 
       // if value provider was not able to resolve variable and variable contains dot try to resolve map
       if (result == null && StringUtils.contains(variable, ".")) {
         String variableWithoutNesting = StringUtils.substringBefore(variable, ".");
         String nestingVariables = StringUtils.substringAfter(variable, ".");
 
-        result = valueProvider.resolve(variableWithoutNesting, valueProviderContext);
+        result = resolveFromValueProvider(valueProvider, variableWithoutNesting, valueProviderContext);
 
         if (StringUtils.isNotBlank(nestingVariables) && result instanceof Map) {
           result = MapExpander.getDeep((Map)result, nestingVariables);
@@ -91,7 +91,16 @@ public final class VariableResolver {
     return result;
   }
 
-  private ValueProviderPlugin getValueProvider(ValueProviderContext valueProviderContext) {
+  private Object resolveFromValueProvider(ValueProviderPlugin valueProvider, String variable, ValueProviderContext valueProviderContext) {
+    // use value fetched in batch before generation started if available
+    Object result = valueProviderGlobalContext.getPrefetchedValues(valueProviderContext.getValueProviderName()).get(variable);
+    if (result == null) {
+      result = valueProvider.resolve(variable, valueProviderContext);
+    }
+    return result;
+  }
+
+  ValueProviderPlugin getValueProvider(ValueProviderContext valueProviderContext) {
     String valueProviderPluginName = (String)valueProviderContext.getValueProviderConfig(ValueProviderGlobalContext.PARAM_PLUGIN_NAME);
     if (StringUtils.isBlank(valueProviderPluginName)) {
       valueProviderPluginName = valueProviderContext.getValueProviderName();
@@ -0,0 +1,271 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tokenizes strings with variable references and expressions into a list of segments.
+ * The result for each distinct string is cached, so it is parsed only once even if it is resolved many times.
+ */
+final class VariableStringParser {
+
+  /*
+   * variable pattern examples:
+   * ${var1}
+   * \${var1}
+   * ${var1:defaultValue}
+   * ${provider::var1}
+   * ${provider::Var1:defaultValue}
+   */
+  @SuppressWarnings("java:S125") // no commented out code
+  private static final String NAME_PATTERN_STRING = "[^\\}\\{\\$\\:()'\"/\\#,;\\+\\*@!\\^\\s]";
+  private static final String NAME_PATTERN_STRING_NOT_EMPTY = NAME_PATTERN_STRING + "+";
+  private static final String NAME_PATTERN_STRING_OR_EMPTY = NAME_PATTERN_STRING + "*";
+
+  private static final int VARIABLE_POS_VARIABLE_1 = 2;
+  private static final int VARIABLE_POS_VALUE_PROVIDER_NAME = 4;
+  private static final int VARIABLE_POS_VARIABLE_2 = 5;
+  private static final int VARIABLE_POS_DEFAULT_VALUE = 7;
+
+  /*
+   * Either expect single strict variable name, or allow more complex expressions (e.g. jsonpath)
+   * if a value provider plugin is referenced.
+   */
+  private static final Pattern VARIABLE_PATTERN = Pattern.compile("((" + NAME_PATTERN_STRING_NOT_EMPTY + ")|"
+      + "((" + NAME_PATTERN_STRING_NOT_EMPTY + ")\\:\\:)"
+      + "([^\\}\\{]*?))"
+      + "(\\:(" + NAME_PATTERN_STRING_OR_EMPTY + "))?");
+
+  private static final int CACHE_SIZE = 10000;
+
+  private static final Cache<String, ParsedString> CACHE = Caffeine.newBuilder()
+      .maximumSize(CACHE_SIZE)
+      .build();
+
+  private VariableStringParser() {
+    // static methods only
+  }
+
+  /**
+   * Parse string into segments.
+   * @param value String that may contain variable references and expressions
+   * @return Parsed string
+   */
+  static ParsedString parse(String value) {
+    if (!StringUtils.contains(value, "${")) {
+      return new ParsedString(value, List.of(new Segment(SegmentType.LITERAL, value, null, null, null, null)));
+    }
+    return CACHE.get(value, VariableStringParser::tokenize);
+  }
+
+  /**
+   * Matches expressions in the same way as the pattern <code>(\\?\$)\{([^\}\{]+)\}</code>.
+   */
+  private static ParsedString tokenize(String value) {
+    List<Segment> segments = new ArrayList<>();
+    int literalStart = 0;
+    int pos = value.indexOf("${");
+    while (pos >= 0) {
+      int end = pos + 2;
+      while (end < value.length() && value.charAt(end) != '}' && value.charAt(end) != '{') {
+        end++;
+      }
+      if (end < value.length() && value.charAt(end) == '}' && end > pos + 2) {
+        boolean escaped = pos > literalStart && value.charAt(pos - 1) == '\\';
+        int start = escaped ? pos - 1 : pos;
+        if (start > literalStart) {
+          segments.add(new Segment(SegmentType.LITERAL, value.substring(literalStart, start), null, null, null, null));
+        }
+        segments.add(toExpressionSegment(value.substring(start, end + 1), value.substring(pos + 2, end), escaped));
+        literalStart = end + 1;
+        pos = value.indexOf("${", literalStart);
+      }
+      else {
+        pos = value.indexOf("${", pos + 1);
+      }
+    }
+    if (literalStart < value.length()) {
+      segments.add(new Segment(SegmentType.LITERAL, value.substring(literalStart), null, null, null, null));
+    }
+    return new ParsedString(value, segments);
+  }
+
+  private static Segment toExpressionSegment(String text, String expression, boolean escaped) {
+    if (escaped) {
+      return new Segment(SegmentType.ESCAPED, text, expression, null, null, null);
+    }
+    Matcher variableMatcher = VARIABLE_PATTERN.matcher(expression);
+    if (variableMatcher.matches()) {
+      return new Segment(SegmentType.VARIABLE, text, expression,
+          variableMatcher.group(VARIABLE_POS_VALUE_PROVIDER_NAME),
+          Objects.toString(variableMatcher.group(VARIABLE_POS_VARIABLE_1), variableMatcher.group(VARIABLE_POS_VARIABLE_2)),
+          variableMatcher.group(VARIABLE_POS_DEFAULT_VALUE));
+    }
+    return new Segment(SegmentType.JEXL, text, expression, null, null, null);
+  }
+
+  /**
+   * Segment types.
+   */
+  enum SegmentType {
+
+    /**
+     * Literal text without expressions.
+     */
+    LITERAL,
+
+    /**
+     * Escaped variable reference or expression (starting with \$) that is kept intact.
+     */
+    ESCAPED,
+
+    /**
+     * Reference to a variable, optionally from a value provider and with default value.
+     */
+    VARIABLE,
+
+    /**
+     * JEXL expression.
+     */
+    JEXL
+
+  }
+
+  /**
+   * Segment of a parsed string.
+   */
+  static final class Segment {
+
+    private final SegmentType type;
+    private final String text;
+    private final String expression;
+    private final String valueProviderName;
+    private final String variable;
+    private final String defaultValueString;
+
+    Segment(SegmentType type, String text, String expression,
+        String valueProviderName, String variable, String defaultValueString) {
+      this.type = type;
+      this.text = text;
+      this.expression = expression;
+      this.valueProviderName = valueProviderName;
+      this.variable = variable;
+      this.defaultValueString = defaultValueString;
+    }
+
+    SegmentType getType() {
+      return this.type;
+    }
+
+    /**
+     * @return Original text of the segment, including <code>${...}</code> for expressions
+     */
+    String getText() {
+      return this.text;
+    }
+
+    /**
+     * @return Expression inside <code>${...}</code>, null for literals
+     */
+    String getExpression() {
+      return this.expression;
+    }
+
+    String getValueProviderName() {
+      return this.valueProviderName;
+    }
+
+    String getVariable() {
+      return this.variable;
+    }
+
+    String getDefaultValueString() {
+      return this.defaultValueString;
+    }
+
+    boolean isResolvable() {
+      return type == SegmentType.VARIABLE || type == SegmentType.JEXL;
+    }
+
+  }
+
+  /**
+   * String parsed into segments.
+   */
+  static final class ParsedString {
+
+    private final String value;
+    private final List<Segment> segments;
+    private final boolean resolvable;
+    private final boolean escaped;
+
+    ParsedString(String value, List<Segment> segments) {
+      this.value = value;
+      this.segments = Collections.unmodifiableList(segments);
+      this.resolvable = segments.stream().anyMatch(Segment::isResolvable);
+      this.escaped = segments.stream().anyMatch(segment -> segment.getType() == SegmentType.ESCAPED);
+    }
+
+    /**
+     * @return Original string
+     */
+    String getValue() {
+      return this.value;
+    }
+
+    List<Segment> getSegments() {
+      return this.segments;
+    }
+
+    /**
+     * @return true if the string consists of a single variable reference or expression without any other text
+     */
+    boolean isSingleExpression() {
+      return segments.size() == 1 && segments.get(0).getType() != SegmentType.LITERAL;
+    }
+
+    /**
+     * @return true if the string contains variable references or expressions that are not escaped
+     */
+    boolean hasResolvableSegments() {
+      return this.resolvable;
+    }
+
+    /**
+     * @return true if the string contains escaped variable references or expressions
+     */
+    boolean hasEscapedSegments() {
+      return this.escaped;
+    }
+
+  }
+
+}
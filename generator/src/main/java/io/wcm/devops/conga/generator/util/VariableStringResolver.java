@@ -20,56 +20,22 @@
 package io.wcm.devops.conga.generator.util;
 
 import java.util.Map;
-import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 
 import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.generator.util.VariableStringParser.ParsedString;
+import io.wcm.devops.conga.generator.util.VariableStringParser.Segment;
+import io.wcm.devops.conga.generator.util.VariableStringParser.SegmentType;
 
 /**
  * Resolve variables in a string referencing entries from a map.
  */
 public final class VariableStringResolver {
 
-  /*
-   * variable pattern examples:
-   * ${var1}
-   * \${var1}
-   * ${var1:defaultValue}
-   * ${provider::var1}
-   * ${provider::Var1:defaultValue}
-   */
-  @SuppressWarnings("java:S125") // no commented out code
-  private static final String NAME_PATTERN_STRING = "[^\\}\\{\\$\\:()'\"/\\#,;\\+\\*@!\\^\\s]";
-  private static final String NAME_PATTERN_STRING_NOT_EMPTY = NAME_PATTERN_STRING + "+";
-  private static final String NAME_PATTERN_STRING_OR_EMPTY = NAME_PATTERN_STRING + "*";
-  private static final String EXPRESSION_STRING = "[^\\}\\{]+";
-
-  static final int EXPRESSION_POS_DOLLAR_SIGN = 1;
-  static final int EXPRESSION_POS_EXPRESSION = 2;
-
-  private static final int VARIABLE_POS_VARIABLE_1 = 2;
-  private static final int VARIABLE_POS_VALUE_PROVIDER_NAME = 4;
-  private static final int VARIABLE_POS_VARIABLE_2 = 5;
-  private static final int VARIABLE_POS_DEFAULT_VALUE = 7;
-
-  private static final String EXPRESSION_PATTERN = "(\\\\?\\$)"
-      + "\\{(" + EXPRESSION_STRING + ")\\}";
-  static final Pattern SINGLE_EXPRESSION_PATTERN = Pattern.compile("^" + EXPRESSION_PATTERN + "$");
-  static final Pattern MULTI_EXPRESSION_PATTERN = Pattern.compile(EXPRESSION_PATTERN);
   private static final int REPLACEMENT_MAX_ITERATIONS = 20;
 
-  /*
-   * Either expect single strict variable name, or allow more complex expressions (e.g. jsonpath)
-   * if a value provider plugin is referenced.
-   */
-  static final Pattern VARIABLE_PATTERN = Pattern.compile("((" + NAME_PATTERN_STRING_NOT_EMPTY + ")|"
-      + "((" + NAME_PATTERN_STRING_NOT_EMPTY + ")\\:\\:)"
-      + "([^\\}\\{]*?))"
-      + "(\\:(" + NAME_PATTERN_STRING_OR_EMPTY + "))?");
-
   private final VariableResolver variableResolver;
   private final JexlResolver jexlResolver;
 
@@ -153,8 +119,24 @@ public final class VariableStringResolver {
    * @return String with de-escaped variable references.
    */
   public String deescape(String value) {
-    return MULTI_EXPRESSION_PATTERN.matcher(value).replaceAll("\\$\\{"
-        + "$" + EXPRESSION_POS_EXPRESSION + "\\}");
+    // fast path: escaped variables always start with \$
+    if (!StringUtils.contains(value, "\\$")) {
+      return value;
+    }
+    ParsedString parsed = VariableStringParser.parse(value);
+    if (!parsed.hasEscapedSegments()) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length());
+    for (Segment segment : parsed.getSegments()) {
+      if (segment.getType() == SegmentType.LITERAL) {
+        sb.append(segment.getText());
+      }
+      else {
+        sb.append("${").append(segment.getExpression()).append('}');
+      }
+    }
+    return sb.toString();
   }
 
   private Object resolve(String value, Map<String, Object> variables, int iterationCount) {
@@ -162,125 +144,71 @@ public final class VariableStringResolver {
       throw new IllegalArgumentException("Cyclic dependencies in variable string detected: " + value);
     }
 
+    ParsedString parsed = VariableStringParser.parse(value);
+
     // check if variable string contains only single variable - in this case resolve and return value without necessarily converting it to a string
-    Matcher matcherSingle = SINGLE_EXPRESSION_PATTERN.matcher(value);
-    if (matcherSingle.matches()) {
-      return resolveSingle(matcherSingle, variables, iterationCount);
+    if (parsed.isSingleExpression()) {
+      return resolveSingle(parsed.getSegments().get(0), variables, iterationCount);
+    }
+    else if (parsed.hasResolvableSegments()) {
+      return resolveMulti(parsed, variables, iterationCount);
     }
     else {
-      Matcher matcherMulti = MULTI_EXPRESSION_PATTERN.matcher(value);
-      return resolveMulti(matcherMulti, variables, iterationCount);
+      return value;
     }
   }
 
-  @SuppressWarnings("java:S3776") // ignore complexity
-  private Object resolveSingle(Matcher matcher, Map<String, Object> variables, int iterationCount) {
-    boolean escapedVariable = StringUtils.equals(matcher.group(EXPRESSION_POS_DOLLAR_SIGN), "\\$");
-    String expression = matcher.group(EXPRESSION_POS_EXPRESSION);
+  private Object resolveSingle(Segment segment, Map<String, Object> variables, int iterationCount) {
 
     // keep escaped variables intact
-    if (escapedVariable) {
-      return matcher.group(0);
+    if (segment.getType() == SegmentType.ESCAPED) {
+      return segment.getText();
     }
 
+    Object valueObject = resolveSegment(segment, variables);
+    if (valueObject instanceof String) {
+      // try again until all nested references are resolved
+      return resolve((String)valueObject, variables, iterationCount + 1);
+    }
     else {
-      Matcher variableMatcher = VARIABLE_PATTERN.matcher(expression);
-
-      // resolve variable
-      if (variableMatcher.matches()) {
-        String valueProviderName = variableMatcher.group(VARIABLE_POS_VALUE_PROVIDER_NAME);
-        String variable = Objects.toString(variableMatcher.group(VARIABLE_POS_VARIABLE_1), variableMatcher.group(VARIABLE_POS_VARIABLE_2));
-        String defaultValueString = variableMatcher.group(VARIABLE_POS_DEFAULT_VALUE);
+      return valueObject;
+    }
+  }
 
-        Object valueObject = variableResolver.resolve(valueProviderName, variable, defaultValueString, variables);
-        if (valueObject != null) {
-          if (valueObject instanceof String) {
-            // try again until all nested references are resolved
-            return resolve((String)valueObject, variables, iterationCount + 1);
-          }
-          else {
-            return valueObject;
-          }
-        }
-        else {
-          throw new IllegalArgumentException("Unable to resolve variable: " + variable);
-        }
+  private Object resolveMulti(ParsedString parsed, Map<String, Object> variables, int iterationCount) {
+    StringBuilder sb = new StringBuilder(parsed.getValue().length());
+    for (Segment segment : parsed.getSegments()) {
+      if (segment.isResolvable()) {
+        sb.append(ValueUtil.valueToString(resolveSegment(segment, variables)));
       }
-
-      // resolve JEXL expression
       else {
-        Object valueObject = jexlResolver.resolve(expression, variables);
-        if (valueObject != null) {
-          if (valueObject instanceof String) {
-            // try again until all nested references are resolved
-            return resolve((String)valueObject, variables, iterationCount + 1);
-          }
-          else {
-            return valueObject;
-          }
-        }
-        else {
-          throw new IllegalArgumentException("Unable to resolve variable expression: " + expression);
-        }
+        // literal text and escaped variables are kept intact
+        sb.append(segment.getText());
       }
     }
+    // try again until all nested references are resolved
+    return resolve(sb.toString(), variables, iterationCount + 1);
   }
 
-  @SuppressWarnings("java:S3776") // ignore complexity
-  private Object resolveMulti(Matcher matcher, Map<String, Object> variables, int iterationCount) {
-    StringBuffer sb = new StringBuffer();
-    boolean replacedAny = false;
-    while (matcher.find()) {
-      boolean escapedVariable = StringUtils.equals(matcher.group(EXPRESSION_POS_DOLLAR_SIGN), "\\$");
-      String expression = matcher.group(EXPRESSION_POS_EXPRESSION);
+  private Object resolveSegment(Segment segment, Map<String, Object> variables) {
 
-      // keep escaped variables intact
-      if (escapedVariable) {
-        matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(0)));
+    // resolve variable
+    if (segment.getType() == SegmentType.VARIABLE) {
+      Object valueObject = variableResolver.resolve(segment.getValueProviderName(), segment.getVariable(),
+          segment.getDefaultValueString(), variables);
+      if (valueObject == null) {
+        throw new IllegalArgumentException("Unable to resolve variable: " + segment.getVariable());
       }
-
-      else {
-        Matcher variableMatcher = VARIABLE_PATTERN.matcher(expression);
-
-        // resolve variable
-        if (variableMatcher.matches()) {
-          String valueProviderName = variableMatcher.group(VARIABLE_POS_VALUE_PROVIDER_NAME);
-          String variable = Objects.toString(variableMatcher.group(VARIABLE_POS_VARIABLE_1), variableMatcher.group(VARIABLE_POS_VARIABLE_2));
-          String defaultValueString = variableMatcher.group(VARIABLE_POS_DEFAULT_VALUE);
-
-          Object valueObject = variableResolver.resolve(valueProviderName, variable, defaultValueString, variables);
-          if (valueObject != null) {
-            String variableValue = ValueUtil.valueToString(valueObject);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(variableValue));
-            replacedAny = true;
-          }
-          else {
-            throw new IllegalArgumentException("Unable to resolve variable: " + variable);
-          }
-        }
-
-        // resolve JEXL expression
-        else {
-          Object valueObject = jexlResolver.resolve(expression, variables);
-          if (valueObject != null) {
-            String variableValue = ValueUtil.valueToString(valueObject);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(variableValue));
-            replacedAny = true;
-          }
-          else {
-            throw new IllegalArgumentException("Unable to resolve variable expression: " + expression);
-          }
-        }
-      }
-
-    }
-    matcher.appendTail(sb);
-    if (replacedAny) {
-      // try again until all nested references are resolved
-      return resolve(sb.toString(), variables, iterationCount + 1);
+      return valueObject;
     }
+
+    // resolve JEXL expression
     else {
-      return sb.toString();
+      Object valueObject = jexlResolver.resolve(segment.getExpression(), variables);
+      if (valueObject == null) {
+        throw new IllegalArgumentException("Unable to resolve variable expression: " + segment.getExpression());
+      }
+      return valueObject;
     }
   }
 
@@ -290,18 +218,24 @@ public final class VariableStringResolver {
    * @return true if a value provider reference was found.
    */
   public static boolean hasValueProviderReference(String value) {
-    Matcher matcher = MULTI_EXPRESSION_PATTERN.matcher(value);
-    while (matcher.find()) {
-      String expression = matcher.group(EXPRESSION_POS_EXPRESSION);
-      Matcher variableMatcher = VARIABLE_PATTERN.matcher(expression);
-      if (variableMatcher.matches()) {
-        String valueProviderName = variableMatcher.group(VARIABLE_POS_VALUE_PROVIDER_NAME);
-        if (StringUtils.isNotEmpty(valueProviderName)) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return VariableStringParser.parse(value).getSegments().stream()
+        .anyMatch(VariableStringResolver::isValueProviderReference);
+  }
+
+  /**
+   * Collects all references to variables from value providers in the given string.
+   * @param value Value string
+   * @param consumer Called with value provider name and variable name of each reference
+   */
+  static void collectValueProviderReferences(String value, BiConsumer<String, String> consumer) {
+    VariableStringParser.parse(value).getSegments().stream()
+        .filter(VariableStringResolver::isValueProviderReference)
+        .forEach(segment -> consumer.accept(segment.getValueProviderName(), segment.getVariable()));
+  }
+
+  private static boolean isValueProviderReference(Segment segment) {
+    return segment.getType() == SegmentType.VARIABLE
+        && StringUtils.isNotEmpty(segment.getValueProviderName());
   }
 
 }
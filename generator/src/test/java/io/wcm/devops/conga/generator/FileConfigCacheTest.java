@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.generator.util.PluginManagerImpl;
+import io.wcm.devops.conga.generator.util.VariableMapResolver;
+import io.wcm.devops.conga.model.util.PersistentMap;
+
+class FileConfigCacheTest {
+
+  private FileConfigCache underTest;
+
+  @BeforeEach
+  void setUp() {
+    PluginContextOptions pluginContextOptions = new PluginContextOptions()
+        .pluginManager(new PluginManagerImpl());
+    ValueProviderGlobalContext context = new ValueProviderGlobalContext()
+        .pluginContextOptions(pluginContextOptions);
+    underTest = new FileConfigCache(new VariableMapResolver(context));
+  }
+
+  @Test
+  void testResolveConfig() {
+    Map<String, Object> config = PersistentMap.copyOf(Map.of("var1", "v1", "var2", "${var1}"));
+
+    Map<String, Object> resolved = underTest.resolveConfig(config, 0);
+    assertEquals(Map.of("var1", "v1", "var2", "v1", ContextProperties.MULTIPLY_INDEX, 0), resolved);
+    assertSame(resolved, underTest.resolveConfig(config, 0));
+
+    Map<String, Object> resolved1 = underTest.resolveConfig(config, 1);
+    assertEquals(Map.of("var1", "v1", "var2", "v1", ContextProperties.MULTIPLY_INDEX, 1), resolved1);
+    assertNotSame(resolved1, underTest.resolveConfig(PersistentMap.copyOf(new HashMap<>(config)), 1));
+  }
+
+  @Test
+  void testResolveConfigNotModified() {
+    Map<String, Object> config = new HashMap<>(Map.of("var1", "v1"));
+
+    Map<String, Object> resolved = underTest.resolveConfig(config, 0);
+    assertEquals(Map.of("var1", "v1", ContextProperties.MULTIPLY_INDEX, 0), resolved);
+    assertEquals(Map.of("var1", "v1"), config);
+  }
+
+  @Test
+  void testGetOptions() {
+    Map<String, Object> config = underTest.resolveConfig(PersistentMap.copyOf(Map.of("var1", "v1")), 0);
+
+    Supplier<Map<String, Object>> options1 = underTest.getOptions(Map.of("option1", "${var1}"), config);
+    Supplier<Map<String, Object>> options2 = underTest.getOptions(Map.of("option1", "${var1}"), config);
+    Supplier<Map<String, Object>> options3 = underTest.getOptions(Map.of("option1", "${var1}-3"), config);
+
+    assertEquals("v1", options1.get().get("option1"));
+    assertEquals("v1", options1.get().get("var1"));
+    assertSame(options1.get(), options2.get());
+    assertEquals("v1-3", options3.get().get("option1"));
+  }
+
+}
@@ -111,7 +111,7 @@ class FileGeneratorFileHeaderTest {
     underTest = new FileGenerator(options, "env1",
         "role1", List.of("variant1"), "template1",
         destDir, file, null, null, roleFile, Map.<String, Object>of(), template,
-        variableMapResolver, urlFileManager, pluginContextOptions, List.of(
+        variableMapResolver, new FileConfigCache(variableMapResolver), urlFileManager, pluginContextOptions, List.of(
             "version1/1.0.0",
             "version2/2.0.0-SNAPSHOT",
             "version3/1.2.0-SNAPSHOT",
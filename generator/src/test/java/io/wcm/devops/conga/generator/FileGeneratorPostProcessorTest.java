@@ -124,7 +124,7 @@ class FileGeneratorPostProcessorTest {
     underTest = new FileGenerator(options, "env1",
         "role1", List.of("variant1"), "template1",
         destDir, file, null, null, roleFile, Map.<String, Object>of(), template,
-        variableMapResolver, urlFileManager, pluginContextOptions, List.of());
+        variableMapResolver, new FileConfigCache(variableMapResolver), urlFileManager, pluginContextOptions, List.of());
   }
 
   @Test
@@ -199,7 +199,7 @@ class FileGeneratorPostProcessorTest {
     underTest = new FileGenerator(options, "env1",
         "role1", List.of("variant1"), "template1",
         destDir, file, null, null, roleFile, Map.<String, Object>of(), template,
-        variableMapResolver, urlFileManager, pluginContextOptions, List.of());
+        variableMapResolver, new FileConfigCache(variableMapResolver), urlFileManager, pluginContextOptions, List.of());
 
     FileHeaderPlugin fileHeaderPlugin = mock(FileHeaderPlugin.class);
     when(pluginManager.get("my-fileheader", FileHeaderPlugin.class)).thenAnswer(new Answer<FileHeaderPlugin>() {
@@ -112,7 +112,7 @@ class FileGeneratorValidatorTest {
     underTest = new FileGenerator(options, "env1",
         "role1", List.of("variant1"), "template1",
         destDir, file, null, null, roleFile, Map.<String, Object>of(), template,
-        variableMapResolver, urlFileManager, pluginContextOptions, List.of());
+        variableMapResolver, new FileConfigCache(variableMapResolver), urlFileManager, pluginContextOptions, List.of());
   }
 
   @Test
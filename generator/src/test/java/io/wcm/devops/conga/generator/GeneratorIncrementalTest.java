@@ -0,0 +1,222 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static io.wcm.devops.conga.generator.TestUtils.assertContains;
+import static io.wcm.devops.conga.generator.TestUtils.assertDirectory;
+import static io.wcm.devops.conga.generator.TestUtils.assertFile;
+import static io.wcm.devops.conga.generator.TestUtils.assertNotFile;
+import static io.wcm.devops.conga.generator.TestUtils.OLD_TIMESTAMP;
+import static io.wcm.devops.conga.generator.TestUtils.generate;
+import static io.wcm.devops.conga.generator.TestUtils.setupGeneratorOptions;
+import static io.wcm.devops.conga.generator.TestUtils.touchOld;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class GeneratorIncrementalTest {
+
+  private File destDir;
+  private File stateDir;
+
+  @BeforeEach
+  void setUp(TestInfo testInfo) throws IOException {
+    String name = "target/test-" + getClass().getSimpleName() + "-" + testInfo.getTestMethod().get().getName();
+    destDir = new File(name);
+    stateDir = new File(name + "-state");
+    FileUtils.deleteDirectory(destDir);
+    FileUtils.deleteDirectory(stateDir);
+  }
+
+  @Test
+  void testUnchangedFilesSkipped() throws IOException {
+    generate(options(), "env1");
+    assertFile(stateDir, "env1.json");
+
+    File node1Dir = assertDirectory(destDir, "env1/node1");
+    File textFile = assertFile(node1Dir, "text/test-role1.variant11.env1.node1.txt");
+    File xmlFile = assertFile(node1Dir, "xml/000_test.tenant1.tenantRole1,tenantRole2.env1.xml");
+    assertFile(node1Dir, "files/sample.txt");
+    touchOld(textFile);
+    touchOld(xmlFile);
+    Files.delete(xmlFile.toPath());
+
+    generate(options(), "env1");
+
+    // unchanged file is not generated again, missing file is generated again
+    assertEquals(OLD_TIMESTAMP, textFile.lastModified());
+    assertFile(node1Dir, "xml/000_test.tenant1.tenantRole1,tenantRole2.env1.xml");
+    assertNotEquals(OLD_TIMESTAMP, xmlFile.lastModified());
+
+    // skipped file is still part of the model export
+    File modelFile = assertFile(node1Dir, "model.yaml");
+    assertContains(modelFile, "text/test-role1.variant11.env1.node1.txt");
+  }
+
+  @Test
+  void testNonIncrementalGeneratesAllFiles() {
+    generate(options(), "env1");
+    File textFile = assertFile(destDir, "env1/node1/text/test-role1.variant11.env1.node1.txt");
+    touchOld(textFile);
+
+    GeneratorOptions options = setupGeneratorOptions(destDir)
+        .stateDir(stateDir);
+    generate(options, "env1");
+
+    assertNotEquals(OLD_TIMESTAMP, textFile.lastModified());
+  }
+
+  @Test
+  void testDeleteBeforeGenerateDeletesStaleFiles() throws IOException {
+    GeneratorOptions options = setupGeneratorOptions(destDir)
+        .deleteBeforeGenerate(true)
+        .incremental(true)
+        .stateDir(stateDir);
+    generate(options, "env1");
+
+    // simulate file generated by a previous run that is no longer generated
+    File manifestFile = assertFile(stateDir, "env1.json");
+    String manifest = FileUtils.readFileToString(manifestFile, StandardCharsets.UTF_8);
+    manifest = StringUtils.removeEnd(manifest.trim(), "]}") + ",\"node1/stale.txt\"]}";
+    FileUtils.write(manifestFile, manifest, StandardCharsets.UTF_8);
+    FileUtils.write(new File(destDir, "env1/node1/stale.txt"), "stale", StandardCharsets.UTF_8);
+
+    // environment folder is not deleted, but stale files are
+    generate(options, "env1");
+
+    File node1Dir = assertDirectory(destDir, "env1/node1");
+    assertNotFile(node1Dir, "stale.txt");
+    assertFile(node1Dir, "text/test-role1.variant11.env1.node1.txt");
+  }
+
+  @Test
+  void testChangedConfigRegeneratesFiles() throws IOException {
+    File definitionsDir = copyDefinitions();
+    generate(options(definitionsDir), "env1");
+    File textFile = assertFile(destDir, "env1/node1/text/test-role1.variant11.env1.node1.txt");
+    touchOld(textFile);
+
+    File environmentFile = new File(definitionsDir, "environments/env1.yaml");
+    String environment = FileUtils.readFileToString(environmentFile, StandardCharsets.UTF_8);
+    FileUtils.write(environmentFile, environment.replace("globalString: globalFromRole1", "globalString: changedGlobalFromRole1"), StandardCharsets.UTF_8);
+    generate(options(definitionsDir), "env1");
+
+    assertNotEquals(OLD_TIMESTAMP, textFile.lastModified());
+    assertContains(textFile, "globalString: changedGlobalFromRole1", StandardCharsets.ISO_8859_1);
+  }
+
+  @Test
+  void testChangedTemplateRegeneratesFiles() throws IOException {
+    File definitionsDir = copyDefinitions();
+    generate(options(definitionsDir), "env1");
+    File textFile = assertFile(destDir, "env1/node1/text/test-role1.variant11.env1.node1.txt");
+    File jsonFile = assertFile(destDir, "env1/node1/json/test.json");
+    touchOld(textFile);
+    touchOld(jsonFile);
+
+    FileUtils.write(new File(definitionsDir, "templates/role1/test.txt.hbs"), "\nchangedTemplate: {{node}}", StandardCharsets.ISO_8859_1, true);
+    generate(options(definitionsDir), "env1");
+
+    // only the file generated from the changed template is generated again
+    assertNotEquals(OLD_TIMESTAMP, textFile.lastModified());
+    assertContains(textFile, "changedTemplate: node1", StandardCharsets.ISO_8859_1);
+    assertEquals(OLD_TIMESTAMP, jsonFile.lastModified());
+  }
+
+  @Test
+  void testChangedPartialRegeneratesFiles() throws IOException {
+    File definitionsDir = copyDefinitions();
+    generate(options(definitionsDir), "env1");
+    File textFile = assertFile(destDir, "env1/node1/text/test-role1.variant11.env1.node1.txt");
+    File jsonFile = assertFile(destDir, "env1/node1/json/test.json");
+    touchOld(textFile);
+    touchOld(jsonFile);
+
+    File partialFile = new File(definitionsDir, "templates/shared/test-partial.json.hbs");
+    String partial = FileUtils.readFileToString(partialFile, StandardCharsets.UTF_8);
+    FileUtils.write(partialFile, partial.replace("\"partialGlobalString\"", "\"changedPartialGlobalString\""), StandardCharsets.UTF_8);
+    generate(options(definitionsDir), "env1");
+
+    // only the file generated from the template including the changed partial is generated again
+    assertNotEquals(OLD_TIMESTAMP, jsonFile.lastModified());
+    assertContains(jsonFile, "\"changedPartialGlobalString\"");
+    assertEquals(OLD_TIMESTAMP, textFile.lastModified());
+  }
+
+  @Test
+  void testChangedPluginConfigRegeneratesFiles() {
+    generate(options(), "env1");
+    File textFile = assertFile(destDir, "env1/node1/text/test-role1.variant11.env1.node1.txt");
+    touchOld(textFile);
+
+    Map<String, Map<String, Object>> pluginConfig = new HashMap<>(options().getGenericPluginConfig());
+    pluginConfig.put("otherPlugin", Map.of("param1", "value1"));
+    generate(options().genericPluginConfig(pluginConfig), "env1");
+
+    assertNotEquals(OLD_TIMESTAMP, textFile.lastModified());
+  }
+
+  @Test
+  void testDefaultStateDir() {
+    GeneratorOptions options = setupGeneratorOptions(destDir)
+        .incremental(true);
+    generate(options, "env1");
+
+    File defaultStateDir = assertDirectory(destDir, GeneratorOptions.DEFAULT_STATE_DIR_NAME);
+    assertFile(defaultStateDir, "env1.json");
+    assertDirectory(destDir, "env1/node1");
+  }
+
+  private GeneratorOptions options() {
+    return setupGeneratorOptions(destDir)
+        .incremental(true)
+        .stateDir(stateDir);
+  }
+
+  private GeneratorOptions options(File definitionsDir) {
+    return options()
+        .roleDir(new File(definitionsDir, "roles"))
+        .templateDir(new File(definitionsDir, "templates"))
+        .environmentDir(new File(definitionsDir, "environments"));
+  }
+
+  /**
+   * Copy test definitions to allow changing them between generator runs.
+   */
+  private File copyDefinitions() throws IOException {
+    File definitionsDir = new File(stateDir.getPath() + "-definitions");
+    FileUtils.deleteDirectory(definitionsDir);
+    FileUtils.copyDirectory(new File("src/test/definitions"), definitionsDir);
+    return definitionsDir;
+  }
+
+}
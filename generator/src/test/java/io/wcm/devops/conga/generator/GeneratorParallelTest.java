@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static io.wcm.devops.conga.generator.TestUtils.assertContains;
+import static io.wcm.devops.conga.generator.TestUtils.assertDirectory;
+import static io.wcm.devops.conga.generator.TestUtils.assertFile;
+import static io.wcm.devops.conga.generator.TestUtils.assertNotFile;
+import static io.wcm.devops.conga.generator.TestUtils.assertSymlink;
+import static io.wcm.devops.conga.generator.TestUtils.setupGeneratorOptions;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class GeneratorParallelTest {
+
+  private File destDir;
+
+  @BeforeEach
+  void setUp(TestInfo testInfo) throws IOException {
+    destDir = new File("target/test-" + getClass().getSimpleName() + "-" + testInfo.getTestMethod().get().getName());
+    FileUtils.deleteDirectory(destDir);
+  }
+
+  @Test
+  void testParallel() {
+    GeneratorOptions options = setupGeneratorOptions(destDir)
+        .environmentThreads(2)
+        .nodeThreads(4)
+        .fileThreads(4);
+    new Generator(options).generate(new String[0]);
+
+    File node1Dir = assertDirectory(destDir, "env1/node1");
+    assertFile(node1Dir, "text/test-role1.variant11.env1.node1.txt");
+    assertFile(node1Dir, "files/sample.txt");
+    assertSymlink(node1Dir, "files/sample-symlink.txt");
+    File nodeCopy = assertFile(node1Dir, "files/sample-node-copy.txt");
+    assertContains(nodeCopy, "textfile äöüß with ISO-8859-1 encoding", StandardCharsets.ISO_8859_1);
+    File copy = assertFile(node1Dir, "files/sample-copy.txt");
+    assertContains(copy, "textfile äöüß with ISO-8859-1 encoding", StandardCharsets.ISO_8859_1);
+    assertNotFile(node1Dir, "text/sample-to-be-deleted.txt");
+    assertFile(node1Dir, "xml/000_test.tenant1.tenantRole1,tenantRole2.env1.xml");
+    assertFile(node1Dir, "xml/001_test.tenant2.tenantRole1.env1.xml");
+    assertFile(node1Dir, "text/test-conditional-tenant1.txt");
+    assertNotFile(node1Dir, "text/test-conditional-tenant2.txt");
+
+    File node2Dir = assertDirectory(destDir, "env1/node2");
+    File xml2tenant1 = assertFile(node2Dir, "xml/000_test.tenant1.tenantRole1,tenantRole2.env1.xml");
+    assertContains(xml2tenant1, "<defaultString value=\"defaultFromNode2Role1\"/>");
+    assertFile(node2Dir, "text/test-conditional-tenant2.txt");
+
+    File node5Dir = assertDirectory(destDir, "env1/node5");
+    File xml5tenant2 = assertFile(node5Dir, "xml/001_test.tenant2.tenantRole1.env1.xml");
+    assertContains(xml5tenant2, "<var2>v2-role1-variant13</var2>");
+  }
+
+  @Test
+  void testModelExportSameAsSequential() throws IOException {
+    File sequentialDir = new File(destDir, "sequential");
+    new Generator(setupGeneratorOptions(sequentialDir)).generate(new String[0]);
+    File parallelDir = new File(destDir, "parallel");
+    new Generator(setupGeneratorOptions(parallelDir).nodeThreads(4).fileThreads(4)).generate(new String[0]);
+
+    // exported model has the same content and key order
+    for (String node : List.of("node1", "node2", "node5")) {
+      File sequentialModel = assertFile(sequentialDir, "env1/" + node + "/model.yaml");
+      File parallelModel = assertFile(parallelDir, "env1/" + node + "/model.yaml");
+      assertTrue(FileUtils.contentEquals(sequentialModel, parallelModel), "Same model export: " + node);
+    }
+  }
+
+}
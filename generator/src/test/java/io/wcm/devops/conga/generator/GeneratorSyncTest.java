@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static io.wcm.devops.conga.generator.TestUtils.assertDirectory;
+import static io.wcm.devops.conga.generator.TestUtils.assertFile;
+import static io.wcm.devops.conga.generator.TestUtils.assertNotDirectory;
+import static io.wcm.devops.conga.generator.TestUtils.assertNotFile;
+import static io.wcm.devops.conga.generator.TestUtils.setupGeneratorOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class GeneratorSyncTest {
+
+  private File destDir;
+  private File stateDir;
+
+  @BeforeEach
+  void setUp(TestInfo testInfo) throws IOException {
+    String name = "target/test-" + getClass().getSimpleName() + "-" + testInfo.getTestMethod().get().getName();
+    destDir = new File(name);
+    stateDir = new File(name + "-state");
+    FileUtils.deleteDirectory(destDir);
+    FileUtils.deleteDirectory(stateDir);
+  }
+
+  @Test
+  void testSync() throws IOException {
+    generate(new String[0]);
+
+    // simulate files generated by a previous run that are no longer generated
+    File manifestFile = assertFile(stateDir, "env1.json");
+    String manifest = FileUtils.readFileToString(manifestFile, StandardCharsets.UTF_8);
+    manifest = manifest.replace("\"generatedFiles\":[", "\"generatedFiles\":[\"node1/obsolete/sub/stale.txt\",\"node2/stale.txt\",");
+    FileUtils.write(manifestFile, manifest, StandardCharsets.UTF_8);
+    FileUtils.write(new File(destDir, "env1/node1/obsolete/sub/stale.txt"), "stale", StandardCharsets.UTF_8);
+    FileUtils.write(new File(destDir, "env1/node2/stale.txt"), "stale", StandardCharsets.UTF_8);
+    FileUtils.write(new File(destDir, "env1/node1/manual.txt"), "manual", StandardCharsets.UTF_8);
+
+    // generate only node1
+    generate(new String[] { "node1" });
+
+    File node1Dir = assertDirectory(destDir, "env1/node1");
+    assertNotFile(node1Dir, "obsolete/sub/stale.txt");
+    assertNotDirectory(node1Dir, "obsolete");
+    assertFile(node1Dir, "text/test-role1.variant11.env1.node1.txt");
+
+    // files not generated by CONGA and files of other nodes are kept
+    assertFile(node1Dir, "manual.txt");
+    assertFile(destDir, "env1/node2/stale.txt");
+  }
+
+  private void generate(String[] nodeNames) {
+    GeneratorOptions options = setupGeneratorOptions(destDir)
+        .deleteBeforeGenerate(true)
+        .sync(true)
+        .stateDir(stateDir);
+    new Generator(options).generate(new String[] { "env1" }, nodeNames);
+  }
+
+}
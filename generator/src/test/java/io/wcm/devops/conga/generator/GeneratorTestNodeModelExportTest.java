@@ -81,6 +81,7 @@ class GeneratorTestNodeModelExportTest {
         "files/sample.txt",
         "files/sample-filesystem.txt",
         "files/sample-symlink.txt",
+        "files/sample-node-copy.txt",
         "files/sample-copy.txt");
 
     assertFileModelOptions(role1, "files/sample-filesystem.txt",
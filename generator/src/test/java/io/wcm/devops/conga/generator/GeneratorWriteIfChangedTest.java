@@ -0,0 +1,81 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static io.wcm.devops.conga.generator.TestUtils.assertContains;
+import static io.wcm.devops.conga.generator.TestUtils.assertDirectory;
+import static io.wcm.devops.conga.generator.TestUtils.assertFile;
+import static io.wcm.devops.conga.generator.TestUtils.OLD_TIMESTAMP;
+import static io.wcm.devops.conga.generator.TestUtils.generate;
+import static io.wcm.devops.conga.generator.TestUtils.setupGeneratorOptions;
+import static io.wcm.devops.conga.generator.TestUtils.touchOld;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class GeneratorWriteIfChangedTest {
+
+  private File destDir;
+
+  @BeforeEach
+  void setUp(TestInfo testInfo) throws IOException {
+    destDir = new File("target/test-" + getClass().getSimpleName() + "-" + testInfo.getTestMethod().get().getName());
+    FileUtils.deleteDirectory(destDir);
+  }
+
+  @Test
+  void testWriteIfChanged() throws IOException {
+    generate(options(), "env1");
+
+    File node1Dir = assertDirectory(destDir, "env1/node1");
+    File textFile = assertFile(node1Dir, "text/test-role1.variant11.env1.node1.txt");
+    File xmlFile = assertFile(node1Dir, "xml/000_test.tenant1.tenantRole1,tenantRole2.env1.xml");
+    touchOld(textFile);
+    FileUtils.write(xmlFile, "modified", StandardCharsets.UTF_8);
+    touchOld(xmlFile);
+
+    generate(options(), "env1");
+
+    // unchanged file is not touched, modified file is replaced
+    assertEquals(OLD_TIMESTAMP, textFile.lastModified());
+    assertNotEquals(OLD_TIMESTAMP, xmlFile.lastModified());
+    assertContains(xmlFile, "<defaultString value=\"&quot;value1&quot; äöüß€\"/>");
+
+    // no temporary directories left
+    File xmlDir = assertDirectory(node1Dir, "xml");
+    String[] tempDirs = xmlDir.list((dir, name) -> name.startsWith(".conga-"));
+    assertTrue(tempDirs == null || tempDirs.length == 0);
+  }
+
+  private GeneratorOptions options() {
+    return setupGeneratorOptions(destDir)
+        .writeIfChanged(true);
+  }
+
+}
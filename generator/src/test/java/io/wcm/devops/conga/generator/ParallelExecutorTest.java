@@ -0,0 +1,92 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelExecutorTest {
+
+  @Mock
+  private Logger log;
+
+  @Test
+  void testSequential() {
+    List<String> result = ParallelExecutor.execute(List.of("a", "b", "c"), 1, log, (item, itemLog) -> {
+      itemLog.info("item {}", item);
+      return item.toUpperCase();
+    });
+    assertEquals(List.of("A", "B", "C"), result);
+
+    InOrder order = inOrder(log);
+    order.verify(log).info("item {}", "a");
+    order.verify(log).info("item {}", "b");
+    order.verify(log).info("item {}", "c");
+  }
+
+  @Test
+  void testParallel() {
+    List<String> result = ParallelExecutor.execute(List.of("a", "b", "c", "d"), 4, log, (item, itemLog) -> {
+      // let first items finish last
+      sleep(("d".compareTo(item)) * 20L);
+      itemLog.info("item {} start", item);
+      itemLog.info("item {} end", item);
+      return item.toUpperCase();
+    });
+    assertEquals(List.of("A", "B", "C", "D"), result);
+
+    InOrder order = inOrder(log);
+    for (String item : List.of("a", "b", "c", "d")) {
+      order.verify(log).info("item {} start", item);
+      order.verify(log).info("item {} end", item);
+    }
+  }
+
+  @Test
+  void testParallelException() {
+    assertThrows(GeneratorException.class, () -> ParallelExecutor.execute(List.of("a", "b"), 2, log, (item, itemLog) -> {
+      if (item.equals("b")) {
+        throw new GeneratorException("failed");
+      }
+      return item;
+    }));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
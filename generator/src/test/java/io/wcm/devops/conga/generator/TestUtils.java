@@ -42,12 +42,17 @@ import io.wcm.devops.conga.generator.util.PluginManagerImpl;
 public final class TestUtils {
 
   public static final String TEST_VERSION = "testVersion1ForFileHeader";
+  public static final long OLD_TIMESTAMP = 1000000000000L;
 
   private TestUtils() {
     // static methods only
   }
 
   public static Generator setupGenerator(File destDir) {
+    return new Generator(setupGeneratorOptions(destDir));
+  }
+
+  public static GeneratorOptions setupGeneratorOptions(File destDir) {
     GeneratorOptions options = new GeneratorOptions()
         .baseDir(new File("."))
         .roleDir(new File("src/test/definitions/roles"))
@@ -66,7 +71,17 @@ public final class TestUtils {
     modelExport.setNode(List.of("yaml"));
     options.modelExport(modelExport);
 
-    return new Generator(options);
+    return options;
+  }
+
+  public static void generate(GeneratorOptions options, String... environmentNames) {
+    new Generator(options).generate(environmentNames);
+  }
+
+  public static void touchOld(File file) {
+    if (!file.setLastModified(OLD_TIMESTAMP)) {
+      throw new IllegalStateException("Unable to set last modified date: " + file.getPath());
+    }
   }
 
   public static File assertDirectory(File assertBaseDir, String path) {
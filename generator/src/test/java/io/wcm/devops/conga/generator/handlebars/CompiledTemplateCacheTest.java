@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CompiledTemplateCacheTest {
+
+  @Mock
+  private TemplateSource source;
+  @Mock
+  private Parser parser;
+  @Mock
+  private Template template1;
+  @Mock
+  private Template template2;
+
+  private CompiledTemplateCache underTest;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(source.filename()).thenReturn("role1/test.txt.hbs");
+    when(source.lastModified()).thenReturn(1000L);
+    when(parser.parse(source)).thenReturn(template1, template2);
+    underTest = new CompiledTemplateCache();
+  }
+
+  @Test
+  void testCache() throws Exception {
+    assertSame(template1, underTest.get(source, parser));
+    assertSame(template1, underTest.get(source, parser));
+    assertSame(template1, underTest.get(source, parser));
+    verify(parser, times(1)).parse(source);
+
+    TemplateCacheStats stats = underTest.getStats();
+    assertEquals(2, stats.getHitCount());
+    assertEquals(1, stats.getMissCount());
+    assertEquals(0, stats.getInvalidationCount());
+  }
+
+  @Test
+  void testInvalidation() throws Exception {
+    assertSame(template1, underTest.get(source, parser));
+    when(source.lastModified()).thenReturn(2000L);
+    assertSame(template2, underTest.get(source, parser));
+    assertSame(template2, underTest.get(source, parser));
+
+    TemplateCacheStats stats = underTest.getStats();
+    assertEquals(1, stats.getHitCount());
+    assertEquals(1, stats.getMissCount());
+    assertEquals(1, stats.getInvalidationCount());
+  }
+
+  @Test
+  void testNoReload() throws Exception {
+    underTest.setReload(false);
+    assertSame(template1, underTest.get(source, parser));
+    when(source.lastModified()).thenReturn(2000L);
+    assertSame(template1, underTest.get(source, parser));
+  }
+
+  @Test
+  void testEvict() throws Exception {
+    assertSame(template1, underTest.get(source, parser));
+    underTest.evict(source);
+    assertSame(template2, underTest.get(source, parser));
+    assertEquals(2, underTest.getStats().getMissCount());
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore.TemplateMetadata;
+
+class TemplateMetadataStoreTest {
+
+  private static final String TEMPLATE = "{{> shared/partial1.hbs}} {{~#> shared/layout.hbs}}content{{/shared/layout.hbs}}";
+
+  private File storeFile;
+  private TemplateMetadataStore underTest;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    File dir = new File("target/test-" + getClass().getSimpleName());
+    FileUtils.deleteDirectory(dir);
+    storeFile = new File(dir, "templates.json");
+    underTest = TemplateMetadataStore.load(storeFile, LoggerFactory.getLogger(getClass()));
+  }
+
+  @Test
+  void testPartials() {
+    TemplateMetadata metadata = underTest.get("test.hbs", "UTF-8", TEMPLATE);
+    assertEquals(Set.of("shared/partial1.hbs", "shared/layout.hbs"), metadata.getPartials());
+    assertFalse(metadata.isValidated());
+  }
+
+  @Test
+  void testDynamicPartials() {
+    TemplateMetadata metadata = underTest.get("test.hbs", "UTF-8", "{{> (lookup . 'name')}}");
+    assertNull(metadata.getPartials());
+  }
+
+  @Test
+  void testPersistValidated() {
+    TemplateMetadata metadata = underTest.get("test.hbs", "UTF-8", TEMPLATE);
+    underTest.markValidated("test.hbs", "UTF-8", metadata.getSourceHash());
+    underTest.save();
+    assertTrue(storeFile.exists());
+
+    TemplateMetadataStore loaded = TemplateMetadataStore.load(storeFile, LoggerFactory.getLogger(getClass()));
+    TemplateMetadata loadedMetadata = loaded.get("test.hbs", "UTF-8", TEMPLATE);
+    assertEquals(metadata.getSourceHash(), loadedMetadata.getSourceHash());
+    assertEquals(metadata.getPartials(), loadedMetadata.getPartials());
+    assertTrue(loadedMetadata.isValidated());
+
+    // changed source invalidates metadata
+    TemplateMetadata changedMetadata = loaded.get("test.hbs", "UTF-8", TEMPLATE + "changed");
+    assertNotEquals(metadata.getSourceHash(), changedMetadata.getSourceHash());
+    assertFalse(changedMetadata.isValidated());
+  }
+
+  @Test
+  void testInvalidStoreFile() throws IOException {
+    FileUtils.write(storeFile, "{invalid", "UTF-8");
+    TemplateMetadataStore loaded = TemplateMetadataStore.load(storeFile, LoggerFactory.getLogger(getClass()));
+    assertFalse(loaded.get("test.hbs", "UTF-8", TEMPLATE).isValidated());
+  }
+
+}
@@ -20,6 +20,7 @@
 package io.wcm.devops.conga.generator.plugins.fileheader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -66,4 +67,24 @@ class XmlFileHeaderTest {
     file.delete();
   }
 
+  @Test
+  void testApplyContentBuffer() throws Exception {
+    File file = new File("target/generation-test/fileHeaderContentBuffer.xml");
+    byte[] content = FileUtils.readFileToByteArray(new File(getClass().getResource("/validators/xml/validXml.xml").toURI()));
+
+    List<String> lines = List.of("Der Jodelkaiser", "aus dem Oetztal", "ist wieder daheim.");
+    FileHeaderContext context = new FileHeaderContext().commentLines(lines);
+    FileContext fileContext = new FileContext().file(file).content(content);
+
+    assertTrue(underTest.supportsContentBuffer());
+    underTest.apply(fileContext, context);
+
+    assertFalse(file.exists());
+    assertTrue(StringUtils.contains(new String(fileContext.getContent(), StandardCharsets.UTF_8),
+        "Der Jodelkaiser\naus dem Oetztal\nist wieder daheim.\n"));
+
+    FileHeaderContext extractContext = underTest.extract(fileContext);
+    assertEquals(lines, extractContext.getCommentLines());
+  }
+
 }
@@ -42,6 +42,8 @@ import io.wcm.devops.conga.model.environment.Environment;
 import io.wcm.devops.conga.model.environment.Tenant;
 import io.wcm.devops.conga.model.role.Role;
 import io.wcm.devops.conga.model.role.RoleFile;
+import io.wcm.devops.conga.model.util.MapMergeCache;
+import io.wcm.devops.conga.model.util.PersistentMap;
 
 
 class TenantMultiplyTest {
@@ -124,6 +126,31 @@ class TenantMultiplyTest {
         ContextProperties.TENANT_ROLES, List.of()), config2);
   }
 
+  @Test
+  void testTenantsWithMapMergeCache() {
+    Tenant tenant1 = new Tenant();
+    tenant1.setTenant("tenant1");
+    tenant1.setConfig(Map.of("var1", "v11", "var3", "v33"));
+    environment.getTenants().add(tenant1);
+
+    Tenant tenant2 = new Tenant();
+    tenant2.setTenant("tenant2");
+    environment.getTenants().add(tenant2);
+
+    // multiply two files of the same node role
+    MapMergeCache mapMergeCache = new MapMergeCache();
+    context.config(PersistentMap.copyOf(config)).mapMergeCache(mapMergeCache);
+    List<Map<String, Object>> configs1 = underTest.multiply(context);
+    List<Map<String, Object>> configs2 = underTest.multiply(context);
+
+    // tenant configurations are merged only once
+    assertEquals(2, mapMergeCache.size());
+    assertEquals(configs1, configs2);
+    assertEquals(Map.of("var1", "v11", "var2", "v2", "var3", "v33",
+        ContextProperties.TENANT, "tenant1",
+        ContextProperties.TENANT_ROLES, List.of()), configs2.get(0));
+  }
+
   @Test
   void testTenantsFilteredByRoles() {
     Tenant tenant1 = new Tenant();
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,6 +62,21 @@ class JsonValidatorTest {
     });
   }
 
+  @Test
+  void testContentBuffer() throws Exception {
+    File file = new File(getClass().getResource("/validators/json/validJson.json").toURI());
+    FileContext validFileContext = new FileContext().file(file)
+        .content("{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+    assertTrue(underTest.supportsContentBuffer());
+    underTest.apply(validFileContext, null);
+
+    FileContext invalidFileContext = new FileContext().file(file)
+        .content("{\"key\":".getBytes(StandardCharsets.UTF_8));
+    assertThrows(ValidationException.class, () -> {
+      underTest.apply(invalidFileContext, null);
+    });
+  }
+
   @Test
   void testInvalidFileExtension() throws Exception {
     File file = new File(getClass().getResource("/validators/json/noJson.txt").toURI());
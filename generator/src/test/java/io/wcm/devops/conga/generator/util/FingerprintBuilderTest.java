@@ -0,0 +1,81 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.model.util.SharedValue;
+
+class FingerprintBuilderTest {
+
+  @Test
+  void testMapKeyOrder() {
+    assertEquals(new FingerprintBuilder().add(Map.of("a", 1, "b", 2)).build(),
+        new FingerprintBuilder().add(Map.of("b", 2, "a", 1)).build());
+    assertNotEquals(new FingerprintBuilder().add(Map.of("a", 1, "b", 2)).build(),
+        new FingerprintBuilder().add(Map.of("a", 2, "b", 1)).build());
+  }
+
+  @Test
+  void testSharedValueWithoutCache() {
+    assertEquals(new FingerprintBuilder().add(List.of("a", "b")).build(),
+        new FingerprintBuilder().add(SharedValue.list(List.of("a", "b"))).build());
+  }
+
+  @Test
+  void testSharedValueFingerprintedOnce() {
+    AtomicInteger count = new AtomicInteger();
+    Object item = new Object() {
+      @Override
+      public String toString() {
+        count.incrementAndGet();
+        return "item";
+      }
+    };
+    List<Object> sharedList = SharedValue.list(List.of(item));
+    SharedValueFingerprints underTest = new SharedValueFingerprints();
+
+    String fingerprint1 = new FingerprintBuilder(underTest).add(Map.of("nodes", sharedList, "value", "1")).build();
+    String fingerprint2 = new FingerprintBuilder(underTest).add(Map.of("nodes", sharedList, "value", "1")).build();
+    String fingerprint3 = new FingerprintBuilder(underTest).add(Map.of("nodes", sharedList, "value", "2")).build();
+
+    assertEquals(fingerprint1, fingerprint2);
+    assertNotEquals(fingerprint1, fingerprint3);
+    assertEquals(1, count.get());
+  }
+
+  @Test
+  void testNestedSharedValues() {
+    List<String> innerList = SharedValue.list(List.of("a", "b"));
+    Map<String, Object> sharedMap = SharedValue.map(Map.of("role1", innerList, "role2", innerList));
+    SharedValueFingerprints underTest = new SharedValueFingerprints();
+
+    assertEquals(new FingerprintBuilder(underTest).add(sharedMap).build(),
+        new FingerprintBuilder(underTest).add(sharedMap).build());
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+
+class LazyJexlContextTest {
+
+  private LazyJexlContext underTest;
+
+  @BeforeEach
+  void setUp() {
+    PluginContextOptions pluginContextOptions = new PluginContextOptions()
+        .pluginManager(new PluginManagerImpl());
+    ValueProviderGlobalContext context = new ValueProviderGlobalContext()
+        .pluginContextOptions(pluginContextOptions);
+    VariableMapResolver variableMapResolver = new VariableMapResolver(context);
+
+    Map<String, Object> variables = Map.of(
+        "var1", "value1",
+        "refVar1", "${var1}",
+        "escaped", "\\${var1}",
+        "jexlExpr", "${var1 + 'a'}",
+        "list1", List.of("${var1}", "v2"),
+        "object1", Map.of("var2", "${refVar1}", "jexlExpr", "${var1 + 'b'}"),
+        "unresolvable", "${unknownVar}");
+    underTest = new LazyJexlContext(variables, variableMapResolver);
+  }
+
+  @Test
+  void testSimpleReferences() {
+    assertEquals("value1", underTest.get("var1"));
+    assertEquals("value1", underTest.get("refVar1"));
+    assertEquals("${var1}", underTest.get("escaped"));
+    assertEquals(List.of("value1", "v2"), underTest.get("list1"));
+  }
+
+  @Test
+  void testJexlExpressionsNotResolved() {
+    assertEquals("${var1 + 'a'}", underTest.get("jexlExpr"));
+    assertEquals(Map.of("var2", "value1", "jexlExpr", "${var1 + 'b'}"), underTest.get("object1"));
+  }
+
+  @Test
+  void testMemoized() {
+    Object value = underTest.get("object1");
+    assertSame(value, underTest.get("object1"));
+  }
+
+  @Test
+  void testSetAndHas() {
+    assertTrue(underTest.has("var1"));
+    assertFalse(underTest.has("var2"));
+    assertNull(underTest.get("var2"));
+    underTest.set("var2", "value2");
+    assertTrue(underTest.has("var2"));
+    assertEquals("value2", underTest.get("var2"));
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.model.shared.LineEndings;
+
+class LineEndingWriterTest {
+
+  private static final String[] VALUES = {
+      "",
+      "abc",
+      "abc\ndef\nghi\njkl\n",
+      "abc\r\ndef\r\nghi\r\njkl\r\n",
+      "abc\rdef\rghi\rjkl\r",
+      "abc\r\ndef\rghi\njkl\r\n",
+      "\r\r\n\n\r",
+      "\n\r\n\r"
+  };
+
+  @Test
+  void testUnix() throws IOException {
+    assertEquals("abc\ndef\nghi\njkl\n", convert("abc\r\ndef\rghi\njkl\r\n", LineEndings.unix, 100));
+    assertSameAsConverter(LineEndings.unix);
+  }
+
+  @Test
+  void testWindows() throws IOException {
+    assertEquals("abc\r\ndef\r\nghi\r\njkl\r\n", convert("abc\r\ndef\rghi\njkl\r\n", LineEndings.windows, 100));
+    assertSameAsConverter(LineEndings.windows);
+  }
+
+  @Test
+  void testMacOS() throws IOException {
+    assertEquals("abc\rdef\rghi\rjkl\r", convert("abc\r\ndef\rghi\njkl\r\n", LineEndings.macos, 100));
+    assertSameAsConverter(LineEndings.macos);
+  }
+
+  @Test
+  void testNull() throws IOException {
+    assertEquals("abc\ndef\nghi\njkl\n", convert("abc\r\ndef\rghi\njkl\r\n", null, 100));
+    assertSameAsConverter(null);
+  }
+
+  /**
+   * Ensure the writer produces the same result as the line ending converter, also if the content
+   * is written in small chunks that split windows line endings.
+   */
+  private static void assertSameAsConverter(LineEndings lineEndings) throws IOException {
+    for (String value : VALUES) {
+      String expected = LineEndingConverter.convertTo(LineEndingConverter.normalizeToUnix(value), lineEndings);
+      for (int chunkSize = 1; chunkSize <= 4; chunkSize++) {
+        assertEquals(expected, convert(value, lineEndings, chunkSize), "chunk size " + chunkSize);
+      }
+    }
+  }
+
+  private static String convert(String value, LineEndings lineEndings, int chunkSize) throws IOException {
+    StringWriter result = new StringWriter();
+    try (Writer writer = new LineEndingWriter(result, lineEndings)) {
+      for (int i = 0; i < value.length(); i += chunkSize) {
+        writer.write(value, i, Math.min(chunkSize, value.length() - i));
+      }
+    }
+    return result.toString();
+  }
+
+}
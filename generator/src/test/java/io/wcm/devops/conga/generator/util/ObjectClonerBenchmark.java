@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import io.wcm.devops.conga.model.environment.Environment;
+import io.wcm.devops.conga.model.environment.Node;
+import io.wcm.devops.conga.model.environment.NodeRole;
+import io.wcm.devops.conga.model.environment.Tenant;
+import io.wcm.devops.conga.model.role.Role;
+import io.wcm.devops.conga.model.role.RoleFile;
+import io.wcm.devops.conga.model.role.RoleVariant;
+
+/**
+ * Compares {@link ObjectCloner} with cloning via Java serialization for typical model objects.
+ * Not executed as part of the unit tests, run the main method manually.
+ */
+@SuppressWarnings("java:S106") // console output by intention
+public final class ObjectClonerBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 200;
+  private static final int ITERATIONS = 1000;
+
+  private ObjectClonerBenchmark() {
+    // main method only
+  }
+
+  /**
+   * @param args Arguments (not used)
+   */
+  public static void main(String[] args) {
+    Role role = buildRole();
+    Environment environment = buildEnvironment();
+    Map<String, Object> config = buildConfig(4, 8);
+
+    run("Role", role);
+    run("Environment", environment);
+    run("Config map", (Serializable)config);
+  }
+
+  private static void run(String name, Serializable input) {
+    double serialization = measure(input, SerializationUtils::clone);
+    double objectCloner = measure(input, ObjectCloner::deepClone);
+    System.out.println(String.format("%-12s serialization: %9.1f us/op   ObjectCloner: %9.1f us/op   speedup: %5.1fx",
+        name, serialization, objectCloner, serialization / objectCloner));
+  }
+
+  private static <T> double measure(T input, UnaryOperator<T> cloner) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      cloner.apply(input);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      cloner.apply(input);
+    }
+    return (System.nanoTime() - start) / 1000d / ITERATIONS;
+  }
+
+  private static Role buildRole() {
+    Role role = new Role();
+    role.setConfig(buildConfig(3, 6));
+    List<RoleVariant> variants = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      RoleVariant variant = new RoleVariant();
+      variant.setVariant("variant" + i);
+      variant.setConfig(buildConfig(2, 5));
+      variants.add(variant);
+    }
+    role.setVariants(variants);
+    List<RoleFile> files = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      RoleFile file = new RoleFile();
+      file.setFile("file" + i + ".txt");
+      file.setDir("dir" + i);
+      file.setTemplate("template" + i + ".hbs");
+      file.setVariants(List.of("variant" + (i % 3)));
+      file.setValidatorOptions(buildConfig(1, 3));
+      files.add(file);
+    }
+    role.setFiles(files);
+    return role;
+  }
+
+  private static Environment buildEnvironment() {
+    Environment environment = new Environment();
+    environment.setConfig(buildConfig(3, 6));
+    List<Node> nodes = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      Node node = new Node();
+      node.setNode("node" + i);
+      node.setConfig(buildConfig(1, 5));
+      NodeRole nodeRole = new NodeRole();
+      nodeRole.setRole("role" + (i % 5));
+      nodeRole.setVariants(List.of("variant" + (i % 3)));
+      nodeRole.setConfig(buildConfig(1, 3));
+      node.setRoles(List.of(nodeRole));
+      nodes.add(node);
+    }
+    environment.setNodes(nodes);
+    List<Tenant> tenants = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      Tenant tenant = new Tenant();
+      tenant.setTenant("tenant" + i);
+      tenant.setRoles(List.of("tenantRole" + (i % 4)));
+      tenant.setConfig(buildConfig(1, 4));
+      tenants.add(tenant);
+    }
+    environment.setTenants(tenants);
+    return environment;
+  }
+
+  private static Map<String, Object> buildConfig(int depth, int width) {
+    Map<String, Object> config = new LinkedHashMap<>();
+    for (int i = 0; i < width; i++) {
+      config.put("param" + i, "value" + i);
+      config.put("number" + i, i);
+      config.put("list" + i, new ArrayList<>(List.of("item1", "item2", "item3")));
+      if (depth > 1) {
+        config.put("nested" + i, buildConfig(depth - 1, width));
+      }
+    }
+    return config;
+  }
+
+}
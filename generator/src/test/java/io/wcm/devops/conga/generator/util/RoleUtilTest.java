@@ -21,6 +21,7 @@ package io.wcm.devops.conga.generator.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -164,6 +165,16 @@ class RoleUtilTest {
     assertEquals(List.of("param1"), role.getSensitiveConfigParameters());
   }
 
+  @Test
+  void testRoleCache() {
+    Map<String, Map<String, Role>> cache = new HashMap<>();
+    Map<String, Role> resolvedRoles = RoleUtil.resolveRole("role3", "context", roleMap, cache);
+    assertEquals(List.of("role1", "role2", "role3"), List.copyOf(resolvedRoles.keySet()));
+    assertSame(resolvedRoles, RoleUtil.resolveRole("role3", "context2", roleMap, cache));
+    assertSame(resolvedRoles, cache.get("role3"));
+    assertThrows(UnsupportedOperationException.class, () -> resolvedRoles.remove("role1"));
+  }
+
   @Test
   void testRole2() {
     Map<String, Role> resolvedRoles = RoleUtil.resolveRole("role2", "context", roleMap);
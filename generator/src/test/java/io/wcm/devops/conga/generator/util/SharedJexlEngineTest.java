@@ -0,0 +1,67 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlExpression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+class SharedJexlEngineTest {
+
+  private SharedJexlEngine underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest = new SharedJexlEngine(10);
+  }
+
+  @Test
+  void testExpressionCache() {
+    JexlExpression expression1 = underTest.createExpression("var1 == 'x'");
+    JexlExpression expression2 = underTest.createExpression("var1 == 'y'");
+    assertNotSame(expression1, expression2);
+    assertSame(expression1, underTest.createExpression("var1 == 'x'"));
+    assertSame(expression1, underTest.createExpression("var1 == 'x'"));
+
+    CacheStats stats = underTest.getCacheStats();
+    assertEquals(2, stats.hitCount());
+    assertEquals(2, stats.missCount());
+    assertEquals(0.5d, stats.hitRate());
+  }
+
+  @Test
+  void testInvalidExpression() {
+    assertThrows(JexlException.class, () -> underTest.createExpression("'abc"));
+  }
+
+  @Test
+  void testSharedInstance() {
+    assertSame(SharedJexlEngine.get(), SharedJexlEngine.get());
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.generator.spi.Plugin;
+import io.wcm.devops.conga.generator.spi.ValueProviderPlugin;
+import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderContext;
+import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.model.environment.Environment;
+import io.wcm.devops.conga.model.environment.Node;
+
+class ValueProviderPrefetcherTest {
+
+  private static final String PROVIDER_NAME = "batch";
+
+  private BatchValueProviderPlugin valueProvider;
+  private ValueProviderGlobalContext valueProviderGlobalContext;
+  private ValueProviderPrefetcher underTest;
+
+  @BeforeEach
+  void setUp() {
+    valueProvider = new BatchValueProviderPlugin();
+    PluginManager pluginManager = new PluginManager() {
+      @Override
+      public <T extends Plugin> T get(String name, Class<T> pluginClass) {
+        return pluginClass.cast(valueProvider);
+      }
+      @Override
+      public <T extends Plugin> List<T> getAll(Class<T> pluginClass) {
+        return List.of(pluginClass.cast(valueProvider));
+      }
+    };
+    valueProviderGlobalContext = new ValueProviderGlobalContext()
+        .pluginContextOptions(new PluginContextOptions().pluginManager(pluginManager));
+    underTest = new ValueProviderPrefetcher(valueProviderGlobalContext);
+  }
+
+  @Test
+  void testPrefetch() {
+    Environment environment = new Environment();
+    environment.setConfig(new HashMap<>(Map.of(
+        "var1", "${batch::key1}",
+        "var2", Map.of("list", List.of("${batch::key2} ${batch::key1}", "${var1}")))));
+    Node node = new Node();
+    node.setConfig(new HashMap<>(Map.of("var3", "${batch::key3:default}")));
+    environment.setNodes(List.of(node));
+
+    underTest.prefetch(environment, environment.getNodes());
+    assertEquals(1, valueProvider.batchCalls.size());
+    assertEquals(Set.of("key1", "key2", "key3"), new HashSet<>(valueProvider.batchCalls.get(0)));
+
+    VariableResolver variableResolver = new VariableResolver(valueProviderGlobalContext);
+    assertEquals("value1", variableResolver.resolve(PROVIDER_NAME, "key1", null, Map.of()));
+    assertEquals("value2", variableResolver.resolve(PROVIDER_NAME, "key2", null, Map.of()));
+    assertEquals(List.of(), valueProvider.resolveCalls);
+
+    // values not returned by batch call are resolved one by one
+    assertEquals("default", variableResolver.resolve(PROVIDER_NAME, "key3", "default", Map.of()));
+    assertEquals(List.of("key3"), valueProvider.resolveCalls);
+  }
+
+  @Test
+  void testNoReferences() {
+    Environment environment = new Environment();
+    environment.setConfig(new HashMap<>(Map.of("var1", "${var2}", "var2", "value2")));
+
+    underTest.prefetch(environment, environment.getNodes());
+    assertEquals(List.of(), valueProvider.batchCalls);
+  }
+
+  @Test
+  void testPrefetchSelectedNodes() {
+    Environment environment = new Environment();
+    environment.setConfig(new HashMap<>(Map.of("var1", "${batch::key1}")));
+    Node node1 = new Node();
+    node1.setConfig(new HashMap<>(Map.of("var2", "${batch::key2}")));
+    Node node2 = new Node();
+    node2.setConfig(new HashMap<>(Map.of("var3", "${batch::key3}")));
+    environment.setNodes(List.of(node1, node2));
+
+    underTest.prefetch(environment, List.of(node1));
+    assertEquals(1, valueProvider.batchCalls.size());
+    assertEquals(Set.of("key1", "key2"), new HashSet<>(valueProvider.batchCalls.get(0)));
+  }
+
+  private static final class BatchValueProviderPlugin implements ValueProviderPlugin {
+
+    private final List<List<String>> batchCalls = new ArrayList<>();
+    private final List<String> resolveCalls = new ArrayList<>();
+
+    @Override
+    public String getName() {
+      return PROVIDER_NAME;
+    }
+
+    @Override
+    public Object resolve(String variableName, ValueProviderContext context) {
+      resolveCalls.add(variableName);
+      return null;
+    }
+
+    @Override
+    public Map<String, Object> resolveBatch(Collection<String> variableNames, ValueProviderContext context) {
+      batchCalls.add(new ArrayList<>(variableNames));
+      return Map.of("key1", "value1", "key2", "value2");
+    }
+
+  }
+
+}
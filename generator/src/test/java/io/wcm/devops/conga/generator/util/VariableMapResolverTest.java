@@ -19,11 +19,15 @@
  */
 package io.wcm.devops.conga.generator.util;
 
+import static io.wcm.devops.conga.generator.util.VariableMapResolver.ITEM_INDEX_VARIABLE;
 import static io.wcm.devops.conga.generator.util.VariableMapResolver.ITEM_VARIABLE;
 import static io.wcm.devops.conga.generator.util.VariableMapResolver.LIST_VARIABLE_ITERATE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +36,8 @@ import org.junit.jupiter.api.Test;
 
 import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
 import io.wcm.devops.conga.generator.spi.context.ValueProviderGlobalContext;
+import io.wcm.devops.conga.model.util.PersistentMap;
+import io.wcm.devops.conga.model.util.SharedValue;
 
 class VariableMapResolverTest {
 
@@ -73,6 +79,75 @@ class VariableMapResolverTest {
     });
   }
 
+  @Test
+  void testNestedCyclicReferenceChain() {
+    Map<String, Object> map = Map.of("var0", "v0", "var1", "${var0}${var2}", "var2", Map.of("var21", "${var3}"),
+        "var3", "${var1}");
+
+    IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+      underTest.resolve(map);
+    });
+    assertTrue(ex.getMessage().contains("var1 -> var2.var21 -> var3 -> var1")
+        || ex.getMessage().contains("var2.var21 -> var3 -> var1 -> var2.var21")
+        || ex.getMessage().contains("var3 -> var1 -> var2.var21 -> var3"), ex.getMessage());
+  }
+
+  @Test
+  void testLongReferenceChain() {
+    Map<String, Object> map = new HashMap<>();
+    map.put("var0", "v");
+    for (int i = 1; i < 100; i++) {
+      map.put("var" + i, "${var" + (i - 1) + "}" + i);
+    }
+
+    Map<String, Object> result = underTest.resolve(map);
+    assertEquals("v1", result.get("var1"));
+    assertEquals("v123456789", result.get("var9"));
+    assertTrue(((String)result.get("var99")).endsWith("979899"));
+  }
+
+  @Test
+  void testReferenceInsideSameMap() {
+    Map<String, Object> map = Map.of("var1", Map.of("var11", "v11", "var12", "${var1.var11}v12"),
+        "var2", Map.of("var21", "${var1}"));
+
+    assertEquals(Map.of("var1", Map.of("var11", "v11", "var12", "v11v12"),
+        "var2", Map.of("var21", Map.of("var11", "v11", "var12", "v11v12"))), underTest.resolve(map));
+  }
+
+  @Test
+  void testUnchangedMap() {
+    Map<String, Object> nested = Map.of("var11", "v11");
+    Map<String, Object> map = Map.of("var1", nested, "var2", "${var1.var11}");
+
+    Map<String, Object> result = underTest.resolve(map, false);
+    assertSame(nested, result.get("var1"));
+    assertEquals("v11", result.get("var2"));
+  }
+
+  @Test
+  void testPersistentMap() {
+    Map<String, Object> nested = Map.of("var11", "v11");
+    PersistentMap<String, Object> map = PersistentMap.copyOf(Map.of("var1", nested,
+        "var2", Map.of("var21", "${var1.var11}"), "var3", "${var2.var21}"));
+
+    Map<String, Object> result = underTest.resolve(map, false);
+    assertTrue(result instanceof PersistentMap);
+    assertSame(nested, result.get("var1"));
+    assertEquals(Map.of("var1", nested, "var2", Map.of("var21", "v11"), "var3", "v11"), result);
+    assertEquals("${var2.var21}", map.get("var3"));
+  }
+
+  @Test
+  void testSharedValue() {
+    List<Object> shared = SharedValue.list(List.of(Map.of("var11", "${var2}")));
+    Map<String, Object> map = Map.of("var1", shared, "var2", "v2", "var3", "${var1}");
+
+    Map<String, Object> result = underTest.resolve(map);
+    assertSame(shared, result.get("var1"));
+    assertSame(shared, result.get("var3"));
+  }
+
   @Test
   void testUnknownVariables() {
     Map<String, Object> map = Map.of("key1", "The ${var1} and ${var2}");
@@ -113,6 +188,20 @@ class VariableMapResolverTest {
         "key1", "The ${novar} and ${novar}v2 and ${novar}${novar}v2v3"), underTest.resolve(map));
   }
 
+  @Test
+  void testDeescapeUnchangedValuesNotCopied() {
+    Map<String, Object> unchanged = Map.of("var21", "v21", "var22", List.of("v22"));
+    Map<String, Object> map = Map.of("var1", List.of("\\${novar}", "v1"), "var2", unchanged, "var3", "${var2.var21}");
+
+    Map<String, Object> result = underTest.resolve(map);
+    assertEquals(Map.of("var1", List.of("${novar}", "v1"), "var2", unchanged, "var3", "v21"), result);
+    assertSame(unchanged, result.get("var2"));
+
+    Map<String, Object> noEscapes = Map.of("var1", "v1", "var2", unchanged);
+    assertSame(noEscapes, underTest.resolve(noEscapes));
+    assertSame(noEscapes, underTest.deescape(noEscapes));
+  }
+
   @Test
   void testIterateDirect() {
     Map<String, Object> map = Map.of(
@@ -158,6 +247,27 @@ class VariableMapResolverTest {
         underTest.resolve(map));
   }
 
+  @Test
+  void testIterateReferencedVariable() {
+    Map<String, Object> map = Map.of(
+        "var1", "${listholder}",
+        "listholder", List.of("${var2}1", "${var2}2"),
+        "var2", "item",
+        "object1", Map.of(
+            LIST_VARIABLE_ITERATE, "${var1}",
+            "item", "${" + ITEM_VARIABLE + "}"),
+        "ref", "${object1}");
+
+    List<Object> expectedList = List.of(Map.of("item", "item1"), Map.of("item", "item2"));
+    assertEquals(Map.of(
+        "var1", List.of("item1", "item2"),
+        "listholder", List.of("item1", "item2"),
+        "var2", "item",
+        "object1", expectedList,
+        "ref", expectedList),
+        underTest.resolve(map));
+  }
+
   @Test
   void testIterateSingleValue() {
     Map<String, Object> map = Map.of(
@@ -170,4 +280,27 @@ class VariableMapResolverTest {
         underTest.resolve(map));
   }
 
+  @Test
+  void testIterateNested() {
+    Map<String, Object> map = Map.of(
+        "var1", "value1",
+        "object1", Map.of(
+            LIST_VARIABLE_ITERATE, List.of("item1", "item2"),
+            "item", "${" + ITEM_VARIABLE + "}",
+            "index", "${" + ITEM_INDEX_VARIABLE + "}",
+            "nested", Map.of(
+                LIST_VARIABLE_ITERATE, List.of("nested1"),
+                "item", "${" + ITEM_VARIABLE + "}",
+                "index", "${" + ITEM_INDEX_VARIABLE + "}",
+                "refvar1", "${var1}")));
+
+    Map<String, Object> nested = Map.of("item", "nested1", "index", 0, "refvar1", "value1");
+    assertEquals(Map.of(
+        "var1", "value1",
+        "object1", List.of(
+            Map.of("item", "item1", "index", 0, "nested", List.of(nested)),
+            Map.of("item", "item2", "index", 1, "nested", List.of(nested)))),
+        underTest.resolve(map));
+  }
+
 }
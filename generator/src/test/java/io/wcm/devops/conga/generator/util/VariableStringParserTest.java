@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.generator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.generator.util.VariableStringParser.ParsedString;
+import io.wcm.devops.conga.generator.util.VariableStringParser.Segment;
+import io.wcm.devops.conga.generator.util.VariableStringParser.SegmentType;
+
+class VariableStringParserTest {
+
+  @Test
+  void testLiteral() {
+    ParsedString parsed = VariableStringParser.parse("abc $ {x} ${} ${a{b}");
+    assertEquals(List.of(SegmentType.LITERAL), types(parsed));
+    assertFalse(parsed.hasResolvableSegments());
+    assertFalse(parsed.isSingleExpression());
+  }
+
+  @Test
+  void testSingleVariable() {
+    ParsedString parsed = VariableStringParser.parse("${provider::var1.a:default}");
+    assertTrue(parsed.isSingleExpression());
+    Segment segment = parsed.getSegments().get(0);
+    assertEquals(SegmentType.VARIABLE, segment.getType());
+    assertEquals("provider", segment.getValueProviderName());
+    assertEquals("var1.a", segment.getVariable());
+    assertEquals("default", segment.getDefaultValueString());
+  }
+
+  @Test
+  void testSimpleVariable() {
+    Segment segment = VariableStringParser.parse("${var1}").getSegments().get(0);
+    assertEquals(SegmentType.VARIABLE, segment.getType());
+    assertNull(segment.getValueProviderName());
+    assertEquals("var1", segment.getVariable());
+    assertNull(segment.getDefaultValueString());
+  }
+
+  @Test
+  void testMixed() {
+    ParsedString parsed = VariableStringParser.parse("a${var1}b\\${var2}c${var1 + 1}$${var3}");
+    assertEquals(List.of(SegmentType.LITERAL, SegmentType.VARIABLE, SegmentType.LITERAL, SegmentType.ESCAPED,
+        SegmentType.LITERAL, SegmentType.JEXL, SegmentType.LITERAL, SegmentType.VARIABLE), types(parsed));
+    assertEquals(List.of("a", "${var1}", "b", "\\${var2}", "c", "${var1 + 1}", "$", "${var3}"),
+        parsed.getSegments().stream().map(Segment::getText).collect(Collectors.toList()));
+    assertTrue(parsed.hasResolvableSegments());
+    assertTrue(parsed.hasEscapedSegments());
+    assertFalse(parsed.isSingleExpression());
+  }
+
+  @Test
+  void testEscapedOnly() {
+    ParsedString parsed = VariableStringParser.parse("\\${var1}");
+    assertTrue(parsed.isSingleExpression());
+    assertFalse(parsed.hasResolvableSegments());
+    assertEquals("var1", parsed.getSegments().get(0).getExpression());
+  }
+
+  @Test
+  void testCached() {
+    String value = "${var1}-${var2}";
+    assertSame(VariableStringParser.parse(value), VariableStringParser.parse(new String(value)));
+  }
+
+  private static List<SegmentType> types(ParsedString parsed) {
+    return parsed.getSegments().stream().map(Segment::getType).collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only view on a chain of maps that applies the deep merge rules of {@link MapMerger} on lookup,
+ * without materializing the merged map tree. Layers listed first have higher priority.
+ * <p>
+ * The result for a list of layers equals nesting {@link MapMerger#merge(Map, Map)} from the last layer to the first:
+ * <code>merge(layer1, merge(layer2, layer3))</code>. Nested maps are returned as layered views as well,
+ * merged values are calculated only once on first access.
+ * </p>
+ * <p>
+ * The layers must not be modified as long as the view is used. When serialized, the view is replaced
+ * by a {@link HashMap} with the merged content.
+ * </p>
+ * @param <K> Key type
+ */
+@SuppressWarnings("java:S2160") // equals/hashCode is implemented in base class
+public final class LayeredMap<K> extends AbstractMap<K, Object> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final Object NULL_VALUE = new Object();
+
+  private final transient List<Map<K, Object>> layers;
+  private final transient Map<Object, Object> values = new ConcurrentHashMap<>();
+  private transient volatile Set<K> keys;
+
+  /**
+   * @param map1 Map 1 (higher priority)
+   * @param map2 Map 2
+   */
+  public LayeredMap(Map<K, Object> map1, Map<K, Object> map2) {
+    this(Arrays.asList(map1, map2));
+  }
+
+  /**
+   * @param layers Maps to merge, maps listed first have higher priority. Null entries are ignored.
+   */
+  public LayeredMap(List<Map<K, Object>> layers) {
+    this.layers = new ArrayList<>(layers.size());
+    for (Map<K, Object> layer : layers) {
+      if (layer != null) {
+        this.layers.add(layer);
+      }
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (key == null) {
+      return getMerged(null);
+    }
+    Object value = values.get(key);
+    if (value == null) {
+      value = getMerged(key);
+      Object existing = values.putIfAbsent(key, value != null ? value : NULL_VALUE);
+      if (existing != null) {
+        value = existing;
+      }
+    }
+    return value != NULL_VALUE ? value : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object getMerged(Object key) {
+    // single layer: values are taken as they are, like MapMerger does when merging with a null map
+    if (layers.size() == 1) {
+      return layers.get(0).get(key);
+    }
+
+    Object[] layerValues = new Object[layers.size()];
+    List<Map<K, Object>> mapLayers = null;
+    boolean hasValue = false;
+    for (int i = 0; i < layerValues.length; i++) {
+      layerValues[i] = layers.get(i).get(key);
+      // shared value with highest priority is used as it is
+      if (!hasValue && layerValues[i] instanceof SharedValue) {
+        return layerValues[i];
+      }
+      hasValue = hasValue || layerValues[i] != null;
+      if (layerValues[i] instanceof Map) {
+        if (mapLayers == null) {
+          mapLayers = new ArrayList<>();
+        }
+        mapLayers.add((Map<K, Object>)layerValues[i]);
+      }
+    }
+
+    // if any layer contains a map, only the maps are merged
+    if (mapLayers != null) {
+      if (mapLayers.size() == 1) {
+        return mapLayers.get(0);
+      }
+      return new LayeredMap<>(mapLayers);
+    }
+
+    Object merged = null;
+    for (int i = layerValues.length - 1; i >= 0; i--) {
+      merged = MapMerger.mergeValue(layerValues[i], merged);
+    }
+    return merged;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    for (Map<K, Object> layer : layers) {
+      if (layer.containsKey(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return getKeys().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Map<K, Object> layer : layers) {
+      if (!layer.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return getKeys();
+  }
+
+  private Set<K> getKeys() {
+    Set<K> result = keys;
+    if (result == null) {
+      Set<K> allKeys = new HashSet<>();
+      for (Map<K, Object> layer : layers) {
+        allKeys.addAll(layer.keySet());
+      }
+      result = Collections.unmodifiableSet(allKeys);
+      keys = result;
+    }
+    return result;
+  }
+
+  @Override
+  public Set<Entry<K, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<K, Object>> iterator() {
+        Iterator<K> keyIterator = getKeys().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return keyIterator.hasNext();
+          }
+          @Override
+          public Entry<K, Object> next() {
+            K key = keyIterator.next();
+            return new SimpleImmutableEntry<>(key, get(key));
+          }
+        };
+      }
+      @Override
+      public int size() {
+        return getKeys().size();
+      }
+    };
+  }
+
+  /**
+   * Serialize merged content instead of the view.
+   * @return Map with merged content
+   */
+  private Object writeReplace() {
+    return new HashMap<>(this);
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches deep merge results for pairs of maps identified by object identity.
+ * <p>
+ * Merging the same pair of maps again returns the previously merged map, which is a read-only {@link LayeredMap}
+ * view or a {@link PersistentMap}. The merged maps must not be modified while the cache is used. The cache keeps all
+ * merged maps alive, so it should be used only for a scope in which the same maps are merged repeatedly, e.g. the
+ * files of one node role.
+ * </p>
+ * <p>
+ * If the map with lower priority is a {@link PersistentMap}, the result is derived from it by merging only the
+ * entries of the map with higher priority, all other entries are shared. The persistent map is expected to contain
+ * already merged configuration in this case.
+ * </p>
+ */
+public final class MapMergeCache {
+
+  private final Map<Key, Map<?, Object>> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Deep merges two maps. Map1 has higher priority.
+   * @param <K> Key type
+   * @param map1 Map 1
+   * @param map2 Map 2
+   * @return Merged map (read-only)
+   */
+  @SuppressWarnings("unchecked")
+  public <K> Map<K, Object> merge(Map<K, Object> map1, Map<K, Object> map2) {
+    return (Map<K, Object>)cache.computeIfAbsent(new Key(map1, map2), key -> mergeShared(map1, map2));
+  }
+
+  /**
+   * @return Number of cached merge results
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K> Map<K, Object> mergeShared(Map<K, Object> map1, Map<K, Object> map2) {
+    if (map2 instanceof PersistentMap) {
+      PersistentMap<K, Object> merged = (PersistentMap<K, Object>)map2;
+      if (map1 != null) {
+        Map<K, Object> layered = new LayeredMap<>(map1, map2);
+        for (K key : map1.keySet()) {
+          merged = merged.with(key, layered.get(key));
+        }
+      }
+      return merged;
+    }
+    return new LayeredMap<>(map1, map2);
+  }
+
+  /**
+   * Identity-based key for a pair of maps.
+   */
+  private static final class Key {
+
+    private final Object map1;
+    private final Object map2;
+    private final int hashCode;
+
+    Key(Object map1, Object map2) {
+      this.map1 = map1;
+      this.map2 = map2;
+      this.hashCode = 31 * System.identityHashCode(map1) + System.identityHashCode(map2);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key)obj;
+      return map1 == other.map1 && map2 == other.map2;
+    }
+
+  }
+
+}
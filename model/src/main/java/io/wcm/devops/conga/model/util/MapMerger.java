@@ -48,11 +48,7 @@ public final class MapMerger {
    * @param map2 Map 2
    * @return Merged map
    */
-  @SuppressWarnings({
-      "unchecked",
-      "java:S3776", // ignore complexity
-      "java:S2234" // parameter arguments switched by intention
-  })
+  @SuppressWarnings("unchecked")
   public static <K> Map<K, Object> merge(Map<K, Object> map1, Map<K, Object> map2) {
     Map<K, Object> merged = new HashMap<>();
     if (map1 == null || map2 == null) {
@@ -72,39 +68,69 @@ public final class MapMerger {
     for (K key : allKeys) {
       Object v1 = map1.get(key);
       Object v2 = map2.get(key);
-      if (v1 instanceof Map || v2 instanceof Map) {
+      if (isShared(v1, v2)) {
+        merged.put(key, v1 != null ? v1 : v2);
+      }
+      else if (v1 instanceof Map || v2 instanceof Map) {
         Map<K, Object> m1 = v1 instanceof Map ? (Map<K, Object>)v1 : null;
         Map<K, Object> m2 = v2 instanceof Map ? (Map<K, Object>)v2 : null;
         merged.put(key, merge(m1, m2));
       }
-      else if (v1 instanceof List && v2 instanceof List) {
-        List<Object> l1 = (List<Object>)v1;
-        List<Object> l2 = (List<Object>)v2;
-        boolean l1Mergeable = isMergeable(l1);
-        boolean l2Mergeable = isMergeable(l2);
-        if (l1Mergeable || l2Mergeable) {
-          List<Object> mergedList;
-          if (l2Mergeable && !l1Mergeable) {
-            mergedList = mergeList(l2, l1);
-          }
-          else {
-            mergedList = mergeList(l1, l2);
-          }
-          merged.put(key, mergedList);
+      else {
+        merged.put(key, mergeValue(v1, v2));
+      }
+    }
+
+    return merged;
+  }
+
+  /**
+   * Merges two values that are not maps. Value 1 has higher priority.
+   * @param v1 Value 1
+   * @param v2 Value 2
+   * @return Merged value
+   */
+  @SuppressWarnings({
+      "unchecked",
+      "java:S2234" // parameter arguments switched by intention
+  })
+  static Object mergeValue(Object v1, Object v2) {
+    if (isShared(v1, v2)) {
+      return v1 != null ? v1 : v2;
+    }
+    if (v1 instanceof List && v2 instanceof List) {
+      List<Object> l1 = (List<Object>)v1;
+      List<Object> l2 = (List<Object>)v2;
+      boolean l1Mergeable = isMergeable(l1);
+      boolean l2Mergeable = isMergeable(l2);
+      if (l1Mergeable || l2Mergeable) {
+        if (l2Mergeable && !l1Mergeable) {
+          return mergeList(l2, l1);
         }
         else {
-          merged.put(key, l1);
+          return mergeList(l1, l2);
         }
       }
-      else if (v1 != null) {
-        merged.put(key, cleanupIfList(v1));
-      }
       else {
-        merged.put(key, cleanupIfList(v2));
+        return l1;
       }
     }
+    else if (v1 != null) {
+      return cleanupIfList(v1);
+    }
+    else {
+      return cleanupIfList(v2);
+    }
+  }
 
-    return merged;
+  /**
+   * Checks if the value with higher priority is a shared value that is used as it is.
+   * @param v1 Value 1
+   * @param v2 Value 2
+   * @return true if shared value
+   */
+  private static boolean isShared(Object v1, Object v2) {
+    return v1 instanceof SharedValue || (v1 == null && v2 instanceof SharedValue);
   }
 
   private static boolean isMergeable(List<Object> list) {
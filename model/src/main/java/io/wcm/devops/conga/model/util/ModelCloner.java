@@ -0,0 +1,270 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import io.wcm.devops.conga.model.shared.AbstractModel;
+
+/**
+ * Deep clones model objects and configuration values by copying their structure directly, which is much faster than
+ * cloning them via Java serialization.
+ * <p>
+ * Supported are all model classes (subclasses of {@link AbstractModel}), maps, collections, arrays and immutable
+ * values like strings, numbers, booleans and enums. Other serializable objects are cloned via Java serialization.
+ * Instances of {@link SharedValue} are not cloned, but referenced by the clone as they are.
+ * Like with serialization, objects referenced multiple times within the cloned object graph are cloned only once.
+ * Maps and sets keep the iteration order of the original, read-only maps and collections of the JDK stay read-only.
+ * </p>
+ */
+public final class ModelCloner {
+
+  private static final Set<Class<?>> IMMUTABLE_CLASSES = Set.of(
+      String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+      Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+  private static final List<String> UNMODIFIABLE_CLASS_NAME_PREFIXES = List.of(
+      "java.util.Collections$Unmodifiable",
+      "java.util.Collections$Empty",
+      "java.util.Collections$Singleton",
+      "java.util.ImmutableCollections$");
+
+  private static final ClassValue<ModelCopier> MODEL_COPIERS = new ClassValue<>() {
+    @Override
+    protected ModelCopier computeValue(Class<?> type) {
+      return new ModelCopier(type);
+    }
+  };
+
+  private ModelCloner() {
+    // static methods only
+  }
+
+  /**
+   * Deep clones an object.
+   * @param <T> Object type
+   * @param input Input object
+   * @return Cloned object
+   * @throws IllegalArgumentException if the object or any object referenced by it cannot be cloned
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T deepClone(T input) {
+    return (T)new CloneContext().copy(input);
+  }
+
+  /**
+   * Keeps track of objects already cloned within one object graph.
+   */
+  @SuppressWarnings("unchecked")
+  private static final class CloneContext {
+
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    Object copy(Object value) {
+      if (value == null || value instanceof Enum || value instanceof SharedValue
+          || IMMUTABLE_CLASSES.contains(value.getClass())) {
+        return value;
+      }
+      Object copy = copies.get(value);
+      if (copy != null) {
+        return copy;
+      }
+      if (value instanceof MergingList) {
+        return copyMergingList((MergingList<?>)value);
+      }
+      if (value instanceof Map) {
+        return copyMap((Map<?, ?>)value);
+      }
+      if (value instanceof Collection) {
+        return copyCollection((Collection<?>)value);
+      }
+      if (value instanceof AbstractModel) {
+        return MODEL_COPIERS.get(value.getClass()).copy(value, this);
+      }
+      if (value.getClass().isArray()) {
+        return copyArray(value);
+      }
+      if (value instanceof Serializable) {
+        return register(value, SerializationUtils.clone((Serializable)value));
+      }
+      throw new IllegalArgumentException("Unable to clone object: " + value.getClass().getName());
+    }
+
+    <T> T register(Object value, T copy) {
+      copies.put(value, copy);
+      return copy;
+    }
+
+    private Object copyMergingList(MergingList<?> list) {
+      MergingList<Object> copy = register(list, new MergingList<>((MergingList<Object>)list));
+      copy.replaceAll(this::copy);
+      return copy;
+    }
+
+    private Object copyMap(Map<?, ?> map) {
+      Map<Object, Object> copy;
+      if (map instanceof SortedMap) {
+        copy = new TreeMap<>(((SortedMap<Object, ?>)map).comparator());
+      }
+      else {
+        // keep iteration order of the original map
+        copy = new LinkedHashMap<>();
+      }
+      register(map, isUnmodifiable(map) ? unmodifiableMap(copy) : copy);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        copy.put(copy(entry.getKey()), copy(entry.getValue()));
+      }
+      return copies.get(map);
+    }
+
+    private Object copyCollection(Collection<?> collection) {
+      Collection<Object> copy;
+      if (collection instanceof LinkedList) {
+        copy = new LinkedList<>();
+      }
+      else if (collection instanceof SortedSet) {
+        copy = new TreeSet<>(((SortedSet<Object>)collection).comparator());
+      }
+      else if (collection instanceof Set) {
+        // keep iteration order of the original set
+        copy = new LinkedHashSet<>();
+      }
+      else {
+        copy = new ArrayList<>(collection.size());
+      }
+      register(collection, isUnmodifiable(collection) ? unmodifiableCollection(copy) : copy);
+      for (Object item : collection) {
+        copy.add(copy(item));
+      }
+      return copies.get(collection);
+    }
+
+    private static Map<Object, Object> unmodifiableMap(Map<Object, Object> map) {
+      if (map instanceof SortedMap) {
+        return Collections.unmodifiableSortedMap((SortedMap<Object, Object>)map);
+      }
+      return Collections.unmodifiableMap(map);
+    }
+
+    private static Collection<Object> unmodifiableCollection(Collection<Object> collection) {
+      if (collection instanceof SortedSet) {
+        return Collections.unmodifiableSortedSet((SortedSet<Object>)collection);
+      }
+      if (collection instanceof Set) {
+        return Collections.unmodifiableSet((Set<Object>)collection);
+      }
+      if (collection instanceof List) {
+        return Collections.unmodifiableList((List<Object>)collection);
+      }
+      return Collections.unmodifiableCollection(collection);
+    }
+
+    /**
+     * Checks for read-only maps and collections of the JDK, their clone is read-only as well.
+     */
+    private static boolean isUnmodifiable(Object value) {
+      String className = value.getClass().getName();
+      return UNMODIFIABLE_CLASS_NAME_PREFIXES.stream().anyMatch(className::startsWith);
+    }
+
+    private Object copyArray(Object array) {
+      int length = Array.getLength(array);
+      if (array.getClass().getComponentType().isPrimitive()) {
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return register(array, copy);
+      }
+      Object[] copy = register(array, (Object[])Array.newInstance(array.getClass().getComponentType(), length));
+      for (int i = 0; i < length; i++) {
+        copy[i] = copy(Array.get(array, i));
+      }
+      return copy;
+    }
+
+  }
+
+  /**
+   * Copies all instance fields of a model class.
+   */
+  private static final class ModelCopier {
+
+    private final Constructor<?> constructor;
+    private final List<Field> fields = new ArrayList<>();
+
+    @SuppressWarnings("java:S3011") // access to private fields of model classes by intention
+    ModelCopier(Class<?> type) {
+      try {
+        constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+      }
+      catch (NoSuchMethodException ex) {
+        throw new IllegalArgumentException("Model class has no default constructor: " + type.getName(), ex);
+      }
+      Class<?> current = type;
+      while (current != null && current != Object.class) {
+        for (Field field : current.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+        current = current.getSuperclass();
+      }
+    }
+
+    Object copy(Object value, CloneContext context) {
+      try {
+        Object copy = context.register(value, constructor.newInstance());
+        for (Field field : fields) {
+          field.set(copy, context.copy(field.get(value)));
+        }
+        return copy;
+      }
+      catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+        throw new IllegalArgumentException("Unable to clone model object: " + value.getClass().getName(), ex);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,564 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable map that shares its structure with the map it was derived from (hash array mapped trie in CHAMP layout).
+ * Adding or removing an entry with {@link #with(Object, Object)} or {@link #without(Object)} copies only the trie
+ * nodes on the path to the entry, all other entries are shared. This allows to derive many slightly different
+ * configuration maps (e.g. per node role or per tenant) from a common base map without copying it each time.
+ * <p>
+ * The map itself is read-only, all {@link Map} modification methods throw {@link UnsupportedOperationException}.
+ * When serialized, the map is replaced by a {@link HashMap} with the same content.
+ * </p>
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+@SuppressWarnings("java:S2160") // equals/hashCode is implemented in base class
+public final class PersistentMap<K, V> extends AbstractMap<K, V> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+  private static final Object NOT_FOUND = new Object();
+
+  private static final PersistentMap<Object, Object> EMPTY = new PersistentMap<>(new BitmapIndexedNode(0, 0, new Object[0]), 0);
+
+  private final transient Node root;
+  private final transient int size;
+
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * @param <K> Key type
+   * @param <V> Value type
+   * @return Empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>)EMPTY;
+  }
+
+  /**
+   * Creates a persistent map with the content of the given map. If the map is already a persistent map
+   * it is returned as it is.
+   * @param <K> Key type
+   * @param <V> Value type
+   * @param map Map
+   * @return Persistent map
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof PersistentMap) {
+      return (PersistentMap<K, V>)map;
+    }
+    return PersistentMap.<K, V>empty().withAll(map);
+  }
+
+  /**
+   * @param key Key
+   * @param value Value
+   * @return Map with the given entry added or replaced. This map is not changed.
+   */
+  public PersistentMap<K, V> with(K key, V value) {
+    boolean[] added = new boolean[1];
+    Node newRoot = root.put(key, value, hash(key), 0, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * @param map Entries to add
+   * @return Map with all entries of the given map added or replaced. This map is not changed.
+   */
+  public PersistentMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+    PersistentMap<K, V> result = this;
+    for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+      result = result.with(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * @param key Key
+   * @return Map with the given entry removed. This map is not changed.
+   */
+  public PersistentMap<K, V> without(Object key) {
+    Node newRoot = root.remove(key, hash(key), 0);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentMap<>(newRoot, size - 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    Object value = root.find(key, hash(key), 0);
+    return value != NOT_FOUND ? (V)value : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return root.find(key, hash(key), 0) != NOT_FOUND;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+      }
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Serialize as plain map.
+   * @return Map with same content
+   */
+  private Object writeReplace() {
+    return new HashMap<>(this);
+  }
+
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  private static int mask(int hash, int shift) {
+    return (hash >>> shift) & LEVEL_MASK;
+  }
+
+  private static int bit(int mask) {
+    return 1 << mask;
+  }
+
+  private static Node mergeTwo(Object key0, Object value0, int hash0, Object key1, Object value1, int hash1, int shift) {
+    if (hash0 == hash1) {
+      return new CollisionNode(hash0, new Object[] { key0, key1 }, new Object[] { value0, value1 });
+    }
+    int mask0 = mask(hash0, shift);
+    int mask1 = mask(hash1, shift);
+    if (mask0 != mask1) {
+      Object[] content = mask0 < mask1
+          ? new Object[] { key0, value0, key1, value1 }
+          : new Object[] { key1, value1, key0, value0 };
+      return new BitmapIndexedNode(bit(mask0) | bit(mask1), 0, content);
+    }
+    Node node = mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS_PER_LEVEL);
+    return new BitmapIndexedNode(0, bit(mask0), new Object[] { node });
+  }
+
+  private static Node singleEntry(Object key, Object value) {
+    return new BitmapIndexedNode(bit(mask(hash(key), 0)), 0, new Object[] { key, value });
+  }
+
+  /**
+   * Trie node.
+   */
+  private abstract static class Node {
+
+    /**
+     * @return Value or {@link PersistentMap#NOT_FOUND}
+     */
+    abstract Object find(Object key, int hash, int shift);
+
+    /**
+     * @return New node, or this node if nothing was changed
+     */
+    abstract Node put(Object key, Object value, int hash, int shift, boolean[] added);
+
+    /**
+     * @return New node, or this node if key was not found
+     */
+    abstract Node remove(Object key, int hash, int shift);
+
+    abstract int dataCount();
+
+    abstract Object key(int index);
+
+    abstract Object value(int index);
+
+    abstract int nodeCount();
+
+    abstract Node node(int index);
+
+    final boolean isSingleEntry() {
+      return dataCount() == 1 && nodeCount() == 0;
+    }
+
+  }
+
+  /**
+   * Node with up to 32 slots. Data entries are stored as key/value pairs at the start of the content array,
+   * sub nodes in reverse order at the end of the content array.
+   */
+  private static final class BitmapIndexedNode extends Node {
+
+    private final int dataMap;
+    private final int nodeMap;
+    private final Object[] content;
+
+    BitmapIndexedNode(int dataMap, int nodeMap, Object[] content) {
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    private int dataIndex(int bit) {
+      return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    private int nodeIndex(int bit) {
+      return Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    private Node nodeAt(int bit) {
+      return (Node)content[content.length - 1 - nodeIndex(bit)];
+    }
+
+    @Override
+    Object find(Object key, int hash, int shift) {
+      int bit = bit(mask(hash, shift));
+      if ((dataMap & bit) != 0) {
+        int index = 2 * dataIndex(bit);
+        return Objects.equals(content[index], key) ? content[index + 1] : NOT_FOUND;
+      }
+      if ((nodeMap & bit) != 0) {
+        return nodeAt(bit).find(key, hash, shift + BITS_PER_LEVEL);
+      }
+      return NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object key, Object value, int hash, int shift, boolean[] added) {
+      int bit = bit(mask(hash, shift));
+      if ((dataMap & bit) != 0) {
+        int index = 2 * dataIndex(bit);
+        Object currentKey = content[index];
+        if (Objects.equals(currentKey, key)) {
+          if (content[index + 1] == value) {
+            return this;
+          }
+          Object[] newContent = content.clone();
+          newContent[index + 1] = value;
+          return new BitmapIndexedNode(dataMap, nodeMap, newContent);
+        }
+        Node node = mergeTwo(currentKey, content[index + 1], hash(currentKey), key, value, hash, shift + BITS_PER_LEVEL);
+        added[0] = true;
+        return migrateDataToNode(bit, node);
+      }
+      if ((nodeMap & bit) != 0) {
+        Node node = nodeAt(bit);
+        Node newNode = node.put(key, value, hash, shift + BITS_PER_LEVEL, added);
+        if (newNode == node) {
+          return this;
+        }
+        return setNode(bit, newNode);
+      }
+      added[0] = true;
+      return insertData(bit, key, value);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift) {
+      int bit = bit(mask(hash, shift));
+      if ((dataMap & bit) != 0) {
+        int index = 2 * dataIndex(bit);
+        if (!Objects.equals(content[index], key)) {
+          return this;
+        }
+        if (shift > 0 && dataCount() == 2 && nodeCount() == 0) {
+          // keep remaining entry as single entry node, it is inlined by the parent node
+          int remainingIndex = index == 0 ? 2 : 0;
+          return singleEntry(content[remainingIndex], content[remainingIndex + 1]);
+        }
+        return removeData(bit);
+      }
+      if ((nodeMap & bit) != 0) {
+        Node node = nodeAt(bit);
+        Node newNode = node.remove(key, hash, shift + BITS_PER_LEVEL);
+        if (newNode == node) {
+          return this;
+        }
+        if (newNode.isSingleEntry()) {
+          if (shift > 0 && dataCount() == 0 && nodeCount() == 1) {
+            return newNode;
+          }
+          return migrateNodeToData(bit, newNode);
+        }
+        return setNode(bit, newNode);
+      }
+      return this;
+    }
+
+    private Node insertData(int bit, Object key, Object value) {
+      int index = 2 * dataIndex(bit);
+      Object[] newContent = new Object[content.length + 2];
+      System.arraycopy(content, 0, newContent, 0, index);
+      newContent[index] = key;
+      newContent[index + 1] = value;
+      System.arraycopy(content, index, newContent, index + 2, content.length - index);
+      return new BitmapIndexedNode(dataMap | bit, nodeMap, newContent);
+    }
+
+    private Node removeData(int bit) {
+      int index = 2 * dataIndex(bit);
+      Object[] newContent = new Object[content.length - 2];
+      System.arraycopy(content, 0, newContent, 0, index);
+      System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+      return new BitmapIndexedNode(dataMap ^ bit, nodeMap, newContent);
+    }
+
+    private Node setNode(int bit, Node node) {
+      Object[] newContent = content.clone();
+      newContent[content.length - 1 - nodeIndex(bit)] = node;
+      return new BitmapIndexedNode(dataMap, nodeMap, newContent);
+    }
+
+    private Node migrateDataToNode(int bit, Node node) {
+      int oldIndex = 2 * dataIndex(bit);
+      int newIndex = content.length - 2 - nodeIndex(bit);
+      Object[] newContent = new Object[content.length - 1];
+      System.arraycopy(content, 0, newContent, 0, oldIndex);
+      System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+      newContent[newIndex] = node;
+      System.arraycopy(content, newIndex + 2, newContent, newIndex + 1, content.length - newIndex - 2);
+      return new BitmapIndexedNode(dataMap ^ bit, nodeMap | bit, newContent);
+    }
+
+    private Node migrateNodeToData(int bit, Node node) {
+      int oldIndex = content.length - 1 - nodeIndex(bit);
+      int newIndex = 2 * dataIndex(bit);
+      Object[] newContent = new Object[content.length + 1];
+      System.arraycopy(content, 0, newContent, 0, newIndex);
+      newContent[newIndex] = node.key(0);
+      newContent[newIndex + 1] = node.value(0);
+      System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+      System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2, content.length - oldIndex - 1);
+      return new BitmapIndexedNode(dataMap | bit, nodeMap ^ bit, newContent);
+    }
+
+    @Override
+    int dataCount() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    Object key(int index) {
+      return content[2 * index];
+    }
+
+    @Override
+    Object value(int index) {
+      return content[2 * index + 1];
+    }
+
+    @Override
+    int nodeCount() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Node node(int index) {
+      return (Node)content[content.length - 1 - index];
+    }
+
+  }
+
+  /**
+   * Node for keys with identical hash codes.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+    private final Object[] keys;
+    private final Object[] values;
+
+    CollisionNode(int hash, Object[] keys, Object[] values) {
+      this.hash = hash;
+      this.keys = keys;
+      this.values = values;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (Objects.equals(keys[i], key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Object find(Object key, int keyHash, int shift) {
+      if (keyHash != hash) {
+        return NOT_FOUND;
+      }
+      int index = indexOf(key);
+      return index >= 0 ? values[index] : NOT_FOUND;
+    }
+
+    @Override
+    Node put(Object key, Object value, int keyHash, int shift, boolean[] added) {
+      if (keyHash != hash) {
+        // split into bitmap indexed node containing this node and the new entry
+        int mask = mask(hash, shift);
+        int keyMask = mask(keyHash, shift);
+        if (mask != keyMask) {
+          added[0] = true;
+          return new BitmapIndexedNode(bit(keyMask), bit(mask), new Object[] { key, value, this });
+        }
+        Node node = put(key, value, keyHash, shift + BITS_PER_LEVEL, added);
+        return new BitmapIndexedNode(0, bit(mask), new Object[] { node });
+      }
+      int index = indexOf(key);
+      if (index >= 0) {
+        if (values[index] == value) {
+          return this;
+        }
+        Object[] newValues = values.clone();
+        newValues[index] = value;
+        return new CollisionNode(hash, keys, newValues);
+      }
+      added[0] = true;
+      Object[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+      Object[] newValues = Arrays.copyOf(values, values.length + 1);
+      newKeys[keys.length] = key;
+      newValues[values.length] = value;
+      return new CollisionNode(hash, newKeys, newValues);
+    }
+
+    @Override
+    Node remove(Object key, int keyHash, int shift) {
+      if (keyHash != hash) {
+        return this;
+      }
+      int index = indexOf(key);
+      if (index < 0) {
+        return this;
+      }
+      if (keys.length == 2) {
+        int remainingIndex = index == 0 ? 1 : 0;
+        return singleEntry(keys[remainingIndex], values[remainingIndex]);
+      }
+      Object[] newKeys = new Object[keys.length - 1];
+      Object[] newValues = new Object[values.length - 1];
+      System.arraycopy(keys, 0, newKeys, 0, index);
+      System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+      System.arraycopy(values, 0, newValues, 0, index);
+      System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+      return new CollisionNode(hash, newKeys, newValues);
+    }
+
+    @Override
+    int dataCount() {
+      return keys.length;
+    }
+
+    @Override
+    Object key(int index) {
+      return keys[index];
+    }
+
+    @Override
+    Object value(int index) {
+      return values[index];
+    }
+
+    @Override
+    int nodeCount() {
+      return 0;
+    }
+
+    @Override
+    Node node(int index) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+  }
+
+  /**
+   * Iterates depth-first over all entries of the trie.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private final Deque<Node> nodes = new ArrayDeque<>();
+    private Node current;
+    private int index;
+
+    EntryIterator(Node root) {
+      this.current = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (current != null && index >= current.dataCount()) {
+        for (int i = 0; i < current.nodeCount(); i++) {
+          nodes.push(current.node(i));
+        }
+        current = nodes.poll();
+        index = 0;
+      }
+      return current != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Entry<K, V> entry = new SimpleImmutableEntry<>((K)current.key(index), (V)current.value(index));
+      index++;
+      return entry;
+    }
+
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marker for read-only values that are shared by reference between configuration maps, e.g. context variables
+ * containing the nodes and tenants of the whole environment.
+ * <p>
+ * Shared values are never cloned, merged, resolved or processed for export - they are always passed on as the
+ * same instance. If the value with the highest priority is a shared value when merging maps, it is used as it is.
+ * </p>
+ */
+public interface SharedValue {
+
+  /**
+   * Wraps a list as read-only shared value.
+   * @param <E> Element type
+   * @param list List
+   * @return Shared list
+   */
+  static <E> List<E> list(List<E> list) {
+    if (list instanceof SharedValue) {
+      return list;
+    }
+    return new SharedList<>(list);
+  }
+
+  /**
+   * Wraps a map as read-only shared value.
+   * @param <K> Key type
+   * @param <V> Value type
+   * @param map Map
+   * @return Shared map
+   */
+  static <K, V> Map<K, V> map(Map<K, V> map) {
+    if (map instanceof SharedValue) {
+      return map;
+    }
+    return new SharedMap<>(map);
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import static io.wcm.devops.conga.model.util.MapMerger.LIST_MERGE_ENTRY;
+import static io.wcm.devops.conga.model.util.MapMerger.merge;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+class LayeredMapTest {
+
+  @Test
+  void testEmpty() {
+    assertEquals(map(), new LayeredMap<>(null, null));
+    assertEquals(map(), new LayeredMap<>(map(), null));
+    assertEquals(map(), new LayeredMap<>(map(), map()));
+    assertTrue(new LayeredMap<>(map(), map()).isEmpty());
+  }
+
+  @Test
+  void testSimple() {
+    assertEquals(map("k1", "v1"), new LayeredMap<>(map("k1", "v1"), null));
+    assertEquals(map("k1", "v1"), new LayeredMap<>(null, map("k1", "v1")));
+    assertEquals(map("k1", "v1", "k2", "v2"), new LayeredMap<>(map("k1", "v1"), map("k2", "v2")));
+    assertEquals(map("k1", "v1"), new LayeredMap<>(map("k1", "v1"), map("k1", "v2")));
+  }
+
+  @Test
+  void testMergeDeep() {
+    Map<String, Object> map1 = map("k1", map("k11", "v11", "k12", map("k111", "v111")), "k2", "v2");
+    Map<String, Object> map2 = map("k1", map("k12", map("k112", "v112")), "k2", map("k21", "v21"));
+    Map<String, Object> underTest = new LayeredMap<>(map1, map2);
+
+    assertEquals(merge(map1, map2), underTest);
+    assertTrue(underTest.get("k1") instanceof LayeredMap);
+    assertEquals(map("k21", "v21"), underTest.get("k2"));
+  }
+
+  @Test
+  void testMergeList() {
+    Map<String, Object> map1 = map("k1", list("v11", LIST_MERGE_ENTRY, "v12"), "k2", list("v21", LIST_MERGE_ENTRY));
+    Map<String, Object> map2 = map("k1", list("v13", "v14"));
+    Map<String, Object> underTest = new LayeredMap<>(map1, map2);
+
+    assertEquals(map("k1", list("v11", "v13", "v14", "v12"), "k2", list("v21")), underTest);
+    assertEquals(merge(map1, map2), underTest);
+  }
+
+  @Test
+  void testMultipleLayers() {
+    Map<String, Object> map1 = map("k1", list("e1", LIST_MERGE_ENTRY, "e2"), "k2", map("k21", "v21"));
+    Map<String, Object> map2 = map("k1", list("e3", "e4"), "k2", map("k22", "v22"), "k3", "v3");
+    Map<String, Object> map3 = map("k1", list("e5", "e6"), "k2", map("k21", "v23", "k23", "v23"), "k3", "v4");
+
+    Map<String, Object> underTest = new LayeredMap<>(Arrays.asList(map1, null, map2, map3));
+
+    assertEquals(merge(map1, merge(map2, map3)), underTest);
+    assertEquals(Set.of("k1", "k2", "k3"), underTest.keySet());
+    assertEquals(3, underTest.size());
+  }
+
+  @Test
+  void testNestedLayers() {
+    Map<String, Object> map1 = map("k1", list("e1", LIST_MERGE_ENTRY, "e2"));
+    Map<String, Object> map2 = map("k1", list("e3", "e4"));
+    Map<String, Object> map3 = map("k1", list("e5", LIST_MERGE_ENTRY, "e6"));
+
+    Map<String, Object> underTest = new LayeredMap<>(new LayeredMap<>(map1, map2), map3);
+
+    assertEquals(merge(merge(map1, map2), map3), underTest);
+  }
+
+  @Test
+  void testGetMemoized() {
+    Map<String, Object> underTest = new LayeredMap<>(map("k1", map("k11", "v11")), map("k1", map("k12", "v12")));
+    assertSame(underTest.get("k1"), underTest.get("k1"));
+  }
+
+  @Test
+  void testContainsKey() {
+    Map<String, Object> underTest = new LayeredMap<>(map("k1", "v1"), map("k2", null));
+    assertTrue(underTest.containsKey("k1"));
+    assertTrue(underTest.containsKey("k2"));
+    assertNull(underTest.get("k2"));
+    assertFalse(underTest.containsKey("k3"));
+    assertNull(underTest.get("k3"));
+  }
+
+  @Test
+  void testReadOnly() {
+    Map<String, Object> underTest = new LayeredMap<>(map("k1", "v1"), map());
+    assertThrows(UnsupportedOperationException.class, () -> underTest.put("k2", "v2"));
+  }
+
+  @Test
+  void testSerialize() {
+    Map<String, Object> underTest = new LayeredMap<>(map("k1", map("k11", "v11")), map("k1", map("k12", "v12")));
+    Object result = SerializationUtils.deserialize(SerializationUtils.serialize((Serializable)underTest));
+
+    assertTrue(result instanceof HashMap);
+    assertTrue(((Map<?, ?>)result).get("k1") instanceof HashMap);
+    assertEquals(map("k1", map("k11", "v11", "k12", "v12")), result);
+  }
+
+  private static List<Object> list(Object... items) {
+    return Arrays.asList(items);
+  }
+
+  private static Map<String, Object> map(Object... items) {
+    Map<String, Object> map = new HashMap<>();
+    if (items.length % 2 != 0) {
+      throw new IllegalArgumentException("Expected even number of arguments.");
+    }
+    for (int i = 0; i < items.length - 1; i = i + 2) {
+      map.put(items[i].toString(), items[i + 1]);
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+}
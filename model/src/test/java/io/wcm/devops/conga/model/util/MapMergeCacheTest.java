@@ -0,0 +1,82 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapMergeCacheTest {
+
+  private MapMergeCache underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest = new MapMergeCache();
+  }
+
+  @Test
+  void testMerge() {
+    Map<String, Object> map1 = Map.of("k1", "v1", "k2", Map.of("k21", "v21"), "k3", List.of("v31", "_merge_"));
+    Map<String, Object> map2 = Map.of("k2", Map.of("k22", "v22"), "k3", List.of("v32"));
+
+    Map<String, Object> result = underTest.merge(map1, map2);
+    assertEquals(MapMerger.merge(map1, map2), result);
+    assertSame(result, underTest.merge(map1, map2));
+    assertEquals(1, underTest.size());
+  }
+
+  @Test
+  void testMergeIdentity() {
+    Map<String, Object> map1 = Map.of("k1", "v1");
+    Map<String, Object> map2 = Map.of("k2", "v2");
+
+    Map<String, Object> result = underTest.merge(map1, map2);
+    assertNotSame(result, underTest.merge(Map.of("k1", "v1"), map2));
+    assertNotSame(result, underTest.merge(map2, map1));
+    assertEquals(3, underTest.size());
+  }
+
+  @Test
+  void testMergePersistentMap() {
+    Map<String, Object> shared = Map.of("k31", "v31");
+    Map<String, Object> map1 = Map.of("k1", "v1", "k2", Map.of("k21", "v21"));
+    PersistentMap<String, Object> map2 = PersistentMap.copyOf(Map.of("k2", Map.of("k22", "v22"), "k3", shared));
+
+    Map<String, Object> result = underTest.merge(map1, map2);
+    assertTrue(result instanceof PersistentMap);
+    assertEquals(MapMerger.merge(map1, map2), result);
+    assertSame(shared, result.get("k3"));
+  }
+
+  @Test
+  void testMergePersistentMapNull() {
+    PersistentMap<String, Object> map2 = PersistentMap.copyOf(Map.of("k1", "v1"));
+    assertSame(map2, underTest.merge(null, map2));
+  }
+
+}
@@ -22,6 +22,7 @@ package io.wcm.devops.conga.model.util;
 import static io.wcm.devops.conga.model.util.MapMerger.LIST_MERGE_ENTRY;
 import static io.wcm.devops.conga.model.util.MapMerger.merge;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -265,6 +266,17 @@ class MapMergerTest {
             map("k1", list(map("p2", "v2"), map("p3", "v3")))));
   }
 
+  @Test
+  void testSharedValue() {
+    List<Object> shared = SharedValue.list(list(1, LIST_MERGE_ENTRY));
+    Map<String, Object> sharedMap = SharedValue.map(map("p1", "v1"));
+
+    Map<String, Object> merged = merge(map("k1", shared, "k3", map("p2", "v2")), map("k1", list(2), "k2", sharedMap, "k3", sharedMap));
+    assertSame(shared, merged.get("k1"));
+    assertSame(sharedMap, merged.get("k2"));
+    assertEquals(map("p1", "v1", "p2", "v2"), merged.get("k3"));
+  }
+
   private static List<Object> list(Object... items) {
     return Arrays.asList(items);
   }
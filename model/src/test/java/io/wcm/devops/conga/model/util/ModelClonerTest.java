@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.devops.conga.model.role.Role;
+import io.wcm.devops.conga.model.role.RoleFile;
+import io.wcm.devops.conga.model.role.RoleVariant;
+import io.wcm.devops.conga.model.shared.LineEndings;
+
+class ModelClonerTest {
+
+  @Test
+  void testSimpleValues() {
+    assertSame("value", ModelCloner.deepClone("value"));
+    assertSame(LineEndings.windows, ModelCloner.deepClone(LineEndings.windows));
+    assertEquals(5, (int)ModelCloner.deepClone(5));
+  }
+
+  @Test
+  void testMap() {
+    Map<String, Object> nested = new LinkedHashMap<>();
+    nested.put("k21", List.of("v21", "v22"));
+    Map<String, Object> map = new HashMap<>();
+    map.put("k1", "v1");
+    map.put("k2", nested);
+
+    Map<String, Object> clone = ModelCloner.deepClone(map);
+    assertEquals(map, clone);
+    assertNotSame(map, clone);
+    assertNotSame(nested, clone.get("k2"));
+    assertTrue(clone.get("k2") instanceof LinkedHashMap);
+  }
+
+  @Test
+  void testMapOrder() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 20; i > 0; i--) {
+      map.put("key" + i, "value" + i);
+    }
+
+    Map<String, Object> clone = ModelCloner.deepClone(Collections.unmodifiableMap(map));
+    assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(clone.keySet()));
+    assertThrows(UnsupportedOperationException.class, () -> clone.put("key0", "value0"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testUnmodifiableCollections() {
+    Set<String> set = new LinkedHashSet<>(List.of("v3", "v1", "v2"));
+    List<Object> clone = ModelCloner.deepClone(List.of(Collections.unmodifiableSet(set), new ArrayList<>(List.of("v4"))));
+
+    assertEquals(List.of(set, List.of("v4")), clone);
+    assertEquals(List.of("v3", "v1", "v2"), new ArrayList<>((Set<?>)clone.get(0)));
+    assertThrows(UnsupportedOperationException.class, () -> clone.add("v5"));
+    assertThrows(UnsupportedOperationException.class, () -> ((Set<Object>)clone.get(0)).add("v5"));
+    ((List<Object>)clone.get(1)).add("v5");
+  }
+
+  @Test
+  void testMergingList() {
+    Map<String, Object> merged = MapMerger.merge(Map.of("k1", List.of("v1", MapMerger.LIST_MERGE_ENTRY, "v2")), Map.of());
+    Map<String, Object> clone = ModelCloner.deepClone(merged);
+
+    MergingList<?> list = (MergingList<?>)clone.get("k1");
+    assertNotSame(merged.get("k1"), list);
+    assertTrue(list.hasMergePosition());
+    assertEquals(Map.of("k1", List.of("v1", "v3", "v2")), MapMerger.merge(clone, Map.of("k1", List.of("v3"))));
+  }
+
+  @Test
+  void testSharedReferences() {
+    List<Object> shared = new ArrayList<>(List.of("v1"));
+    List<Object> list = new ArrayList<>();
+    list.add(shared);
+    list.add(shared);
+    list.add(list);
+
+    List<Object> clone = ModelCloner.deepClone(list);
+    assertNotSame(shared, clone.get(0));
+    assertSame(clone.get(0), clone.get(1));
+    assertSame(clone, clone.get(2));
+  }
+
+  @Test
+  void testLayeredMap() {
+    Map<String, Object> clone = ModelCloner.deepClone(new LayeredMap<>(Map.of("k1", Map.of("k11", "v11")), Map.of("k1", Map.of("k12", "v12"))));
+    assertTrue(clone instanceof HashMap);
+    assertTrue(clone.get("k1") instanceof HashMap);
+    assertEquals(Map.of("k1", Map.of("k11", "v11", "k12", "v12")), clone);
+  }
+
+  @Test
+  void testRole() {
+    RoleFile file = new RoleFile();
+    file.setFile("file1");
+    file.setValidatorOptions(new HashMap<>(Map.of("option1", "value1")));
+    file.setLineEndings(LineEndings.windows);
+    file.setDeleteSource(true);
+    RoleVariant variant = new RoleVariant();
+    variant.setVariant("variant1");
+    variant.setConfig(new HashMap<>(Map.of("var1", "value1")));
+    Role role = new Role();
+    role.setFiles(new ArrayList<>(List.of(file)));
+    role.setVariants(new ArrayList<>(List.of(variant)));
+    role.setConfig(new HashMap<>(Map.of("var2", "value2")));
+
+    Role clone = ModelCloner.deepClone(role);
+    assertNotSame(role, clone);
+    assertEquals(role.getConfig(), clone.getConfig());
+    assertNotSame(role.getConfig(), clone.getConfig());
+
+    RoleFile clonedFile = clone.getFiles().get(0);
+    assertNotSame(file, clonedFile);
+    assertEquals("file1", clonedFile.getFile());
+    assertEquals(Map.of("option1", "value1"), clonedFile.getValidatorOptions());
+    assertSame(LineEndings.windows, clonedFile.getLineEndings());
+    assertTrue(clonedFile.isDeleteSource());
+
+    RoleVariant clonedVariant = clone.getVariants().get(0);
+    assertNotSame(variant, clonedVariant);
+    assertEquals("variant1", clonedVariant.getVariant());
+    assertEquals(Map.of("var1", "value1"), clonedVariant.getConfig());
+  }
+
+  @Test
+  void testSharedValue() {
+    List<Object> shared = SharedValue.list(new ArrayList<>(List.of(new HashMap<>(Map.of("var1", "value1")))));
+    Map<String, Object> map = new HashMap<>(Map.of("shared", shared, "other", new ArrayList<>(List.of("value2"))));
+
+    Map<String, Object> clone = ModelCloner.deepClone(map);
+    assertNotSame(map, clone);
+    assertSame(shared, clone.get("shared"));
+    assertNotSame(map.get("other"), clone.get("other"));
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.devops.conga.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+
+  @Test
+  void testEmpty() {
+    PersistentMap<String, Object> underTest = PersistentMap.empty();
+    assertTrue(underTest.isEmpty());
+    assertEquals(Map.of(), underTest);
+    assertNull(underTest.get("k1"));
+    assertFalse(underTest.containsKey("k1"));
+  }
+
+  @Test
+  void testWith() {
+    PersistentMap<String, Object> map1 = PersistentMap.<String, Object>empty().with("k1", "v1");
+    PersistentMap<String, Object> map2 = map1.with("k2", "v2");
+    PersistentMap<String, Object> map3 = map2.with("k1", "v3");
+
+    assertEquals(Map.of("k1", "v1"), map1);
+    assertEquals(Map.of("k1", "v1", "k2", "v2"), map2);
+    assertEquals(Map.of("k1", "v3", "k2", "v2"), map3);
+    assertSame(map3, map3.with("k1", "v3"));
+  }
+
+  @Test
+  void testWithout() {
+    PersistentMap<String, Object> map1 = PersistentMap.copyOf(Map.of("k1", "v1", "k2", "v2"));
+    PersistentMap<String, Object> map2 = map1.without("k1");
+
+    assertEquals(Map.of("k1", "v1", "k2", "v2"), map1);
+    assertEquals(Map.of("k2", "v2"), map2);
+    assertSame(map2, map2.without("k1"));
+    assertTrue(map2.without("k2").isEmpty());
+  }
+
+  @Test
+  void testNullKeyAndValue() {
+    PersistentMap<String, Object> underTest = PersistentMap.<String, Object>empty().with(null, "v1").with("k2", null);
+    assertEquals(2, underTest.size());
+    assertEquals("v1", underTest.get(null));
+    assertTrue(underTest.containsKey("k2"));
+    assertNull(underTest.get("k2"));
+  }
+
+  @Test
+  void testManyEntries() {
+    Map<Object, Object> expected = new HashMap<>();
+    PersistentMap<Object, Object> underTest = PersistentMap.empty();
+    for (int i = 0; i < 10000; i++) {
+      expected.put(new CollidingKey(i), i);
+      underTest = underTest.with(new CollidingKey(i), i);
+    }
+    assertEquals(expected, underTest);
+    assertEquals(expected.hashCode(), underTest.hashCode());
+
+    for (int i = 0; i < 10000; i = i + 2) {
+      expected.remove(new CollidingKey(i));
+      underTest = underTest.without(new CollidingKey(i));
+    }
+    assertEquals(expected, underTest);
+    assertEquals(5000, underTest.size());
+  }
+
+  @Test
+  void testCopyOf() {
+    PersistentMap<String, Object> map = PersistentMap.copyOf(Map.of("k1", "v1"));
+    assertSame(map, PersistentMap.copyOf(map));
+  }
+
+  @Test
+  void testReadOnly() {
+    PersistentMap<String, Object> underTest = PersistentMap.copyOf(Map.of("k1", "v1"));
+    assertThrows(UnsupportedOperationException.class, () -> underTest.put("k2", "v2"));
+    assertThrows(UnsupportedOperationException.class, () -> underTest.remove("k1"));
+  }
+
+  @Test
+  void testSerialize() {
+    PersistentMap<String, Object> underTest = PersistentMap.copyOf(Map.of("k1", "v1", "k2", Map.of("k21", "v21")));
+    Object result = SerializationUtils.deserialize(SerializationUtils.serialize(underTest));
+
+    assertTrue(result instanceof HashMap);
+    assertEquals(underTest, result);
+  }
+
+  /**
+   * Key with many hash collisions.
+   */
+  private static final class CollidingKey {
+
+    private final int id;
+
+    CollidingKey(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return id % 1000;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof CollidingKey && ((CollidingKey)obj).id == id;
+    }
+
+  }
+
+}
@@ -49,6 +49,13 @@ public final class CongaCli {
     CLI_OPTIONS.addOption("target", true, "Target path for the generated configuration files.");
     CLI_OPTIONS.addOption("environments", true, "Selected environments to generate (separated by ',').");
     CLI_OPTIONS.addOption("nodes", true, "Selected nodes to generate (separated by ',').");
+    CLI_OPTIONS.addOption("environmentThreads", true, "Number of threads for generating environments in parallel (default: 1).");
+    CLI_OPTIONS.addOption("nodeThreads", true, "Number of threads for generating nodes of an environment in parallel (default: 1).");
+    CLI_OPTIONS.addOption("fileThreads", true, "Number of threads for rendering files of a node role in parallel (default: 1).");
+    CLI_OPTIONS.addOption("incremental", false, "Generate only files whose inputs changed since the last run, delete files that are no longer generated.");
+    CLI_OPTIONS.addOption("stateDir", true, "Directory to store the generation manifests for incremental generation and sync mode (default: .conga-state in target path).");
+    CLI_OPTIONS.addOption("writeIfChanged", false, "Replace existing files only if their content changed, delete files that are no longer generated.");
+    CLI_OPTIONS.addOption("sync", false, "Delete only files from the previous run that are no longer generated instead of the whole target directory.");
     CLI_OPTIONS.addOption("?", false, "Print usage help.");
   }
 
@@ -80,6 +87,13 @@ public final class CongaCli {
     File targetDir = new File(commandLine.getOptionValue("target", "target"));
     String[] environments = StringUtils.split(commandLine.getOptionValue("environments", (String)null), ",");
     String[] nodes = StringUtils.split(commandLine.getOptionValue("nodes", (String)null), ",");
+    int environmentThreads = Integer.parseInt(commandLine.getOptionValue("environmentThreads", "1"));
+    int nodeThreads = Integer.parseInt(commandLine.getOptionValue("nodeThreads", "1"));
+    int fileThreads = Integer.parseInt(commandLine.getOptionValue("fileThreads", "1"));
+    boolean incremental = commandLine.hasOption("incremental");
+    String stateDir = commandLine.getOptionValue("stateDir", (String)null);
+    boolean writeIfChanged = commandLine.hasOption("writeIfChanged");
+    boolean sync = commandLine.hasOption("sync");
 
     GeneratorOptions options = new GeneratorOptions()
         .baseDir(baseDir)
@@ -88,6 +102,13 @@ public final class CongaCli {
         .environmentDir(environmentDir)
         .destDir(targetDir)
         .deleteBeforeGenerate(true)
+        .environmentThreads(environmentThreads)
+        .nodeThreads(nodeThreads)
+        .fileThreads(fileThreads)
+        .incremental(incremental)
+        .stateDir(stateDir != null ? new File(stateDir) : null)
+        .writeIfChanged(writeIfChanged)
+        .sync(sync)
         .pluginManager(new PluginManagerImpl());
 
     Generator generator = new Generator(options);
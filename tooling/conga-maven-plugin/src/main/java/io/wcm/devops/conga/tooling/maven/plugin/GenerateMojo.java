@@ -19,6 +19,7 @@
  */
 package io.wcm.devops.conga.tooling.maven.plugin;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +71,7 @@ public class GenerateMojo extends AbstractCongaMojo {
 
   /**
    * Delete folders of environments before generating the new files.
+   * In incremental, write-if-changed or sync mode only files from the previous run that are no longer generated are deleted.
    */
   @Parameter(defaultValue = "false")
   private boolean deleteBeforeGenerate;
@@ -80,6 +82,56 @@ public class GenerateMojo extends AbstractCongaMojo {
   @Parameter(defaultValue = "true")
   private boolean allowSymlinks;
 
+  /**
+   * Number of threads used for generating environments in parallel.
+   * The log output is buffered per environment and written in order.
+   */
+  @Parameter(property = "conga.environmentThreads", defaultValue = "1")
+  private int environmentThreads;
+
+  /**
+   * Number of threads used for generating the nodes of an environment in parallel.
+   * The log output is buffered per node and written in order.
+   */
+  @Parameter(property = "conga.nodeThreads", defaultValue = "1")
+  private int nodeThreads;
+
+  /**
+   * Number of threads used for rendering the files of a node role in parallel.
+   * File header, validation and post-processing is applied by a separate pool with the same number of threads.
+   */
+  @Parameter(property = "conga.fileThreads", defaultValue = "1")
+  private int fileThreads;
+
+  /**
+   * Generate incrementally: Files whose inputs did not change since the last run are not generated again.
+   * Environment folders are not deleted before generating in this mode. If deleteBeforeGenerate is set, files from
+   * the previous run that are no longer generated are deleted instead, as in sync mode.
+   */
+  @Parameter(property = "conga.incremental", defaultValue = "false")
+  private boolean incremental;
+
+  /**
+   * Directory to store the generation manifests for incremental generation and sync mode.
+   */
+  @Parameter(property = "conga.stateDir", defaultValue = "${project.build.directory}/conga-state")
+  private File stateDir;
+
+  /**
+   * Replace existing files only if their content changed, keeping the last modified date of unchanged files.
+   * Environment folders are not deleted before generating in this mode. If deleteBeforeGenerate is set, files from
+   * the previous run that are no longer generated are deleted instead, as in sync mode.
+   */
+  @Parameter(property = "conga.writeIfChanged", defaultValue = "false")
+  private boolean writeIfChanged;
+
+  /**
+   * Instead of deleting the environment folders before generating, delete only files generated by the previous run
+   * that are no longer generated.
+   */
+  @Parameter(property = "conga.sync", defaultValue = "false")
+  private boolean sync;
+
   /**
    * Plugin keys (groupId:artifactId) of additional Maven plugins of the current project's POM
    * to be included in the model export version information.
@@ -138,6 +190,13 @@ public class GenerateMojo extends AbstractCongaMojo {
         .deleteBeforeGenerate(deleteBeforeGenerate)
         .version(project.getVersion())
         .setAllowSymlinks(allowSymlinks)
+        .environmentThreads(environmentThreads)
+        .nodeThreads(nodeThreads)
+        .fileThreads(fileThreads)
+        .incremental(incremental)
+        .stateDir(stateDir)
+        .writeIfChanged(writeIfChanged)
+        .sync(sync)
         .modelExport(getModelExport())
         .valueProviderConfig(getValueProviderConfig())
         .genericPluginConfig(getPluginConfig())
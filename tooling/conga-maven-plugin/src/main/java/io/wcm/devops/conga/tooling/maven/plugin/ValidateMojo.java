@@ -19,6 +19,7 @@
  */
 package io.wcm.devops.conga.tooling.maven.plugin;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -54,6 +55,7 @@ import io.wcm.devops.conga.generator.GeneratorException;
 import io.wcm.devops.conga.generator.GeneratorOptions;
 import io.wcm.devops.conga.generator.UrlFileManager;
 import io.wcm.devops.conga.generator.handlebars.HandlebarsManager;
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore;
 import io.wcm.devops.conga.generator.spi.context.PluginContextOptions;
 import io.wcm.devops.conga.generator.spi.context.UrlFilePluginContext;
 import io.wcm.devops.conga.generator.util.PluginManager;
@@ -91,6 +93,13 @@ public class ValidateMojo extends AbstractCongaMojo {
   @Parameter(property = "conga.environments")
   private String[] environments;
 
+  /**
+   * File to store metadata of validated templates (source hash and referenced partials). Templates that were
+   * validated successfully in a previous build are not compiled again as long as their source does not change.
+   */
+  @Parameter(property = "conga.templateMetadataFile", defaultValue = "${project.build.directory}/conga-state/templates.json")
+  private File templateMetadataFile;
+
   @Parameter(property = "project", required = true, readonly = true)
   private MavenProject project;
 
@@ -152,8 +161,15 @@ public class ValidateMojo extends AbstractCongaMojo {
         .logger(new MavenSlf4jLogFacade(getLog()));
 
     // validate that all templates can be compiled
-    HandlebarsManager handlebarsManager = new HandlebarsManager(List.of(templateDir), pluginContextOptions);
-    validateFiles(templateDir, templateDir, new TemplateValidator(templateDir, handlebarsManager));
+    TemplateMetadataStore templateMetadataStore = TemplateMetadataStore.load(templateMetadataFile, pluginContextOptions.getLogger());
+    HandlebarsManager handlebarsManager = new HandlebarsManager(List.of(templateDir), pluginContextOptions, templateMetadataStore);
+    try {
+      validateFiles(templateDir, templateDir, new TemplateValidator(templateDir, handlebarsManager));
+    }
+    finally {
+      // store also results of templates validated successfully before a failure
+      templateMetadataStore.save();
+    }
 
     // validate that roles reference existing templates
     validateFiles(roleDir, roleDir, new RoleTemplateFileValidator(handlebarsManager));
@@ -27,6 +27,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import com.github.jknack.handlebars.Handlebars;
 
 import io.wcm.devops.conga.generator.handlebars.HandlebarsManager;
+import io.wcm.devops.conga.generator.handlebars.TemplateMetadataStore.TemplateMetadata;
 import io.wcm.devops.conga.generator.plugins.handlebars.escaping.NoneEscapingStrategy;
 import io.wcm.devops.conga.resource.Resource;
 import io.wcm.devops.conga.resource.ResourceCollection;
@@ -34,6 +35,7 @@ import io.wcm.devops.conga.tooling.maven.plugin.util.PathUtil;
 
 /**
  * Validates Handlebars templates by compiling it.
+ * Templates that were compiled successfully before are skipped as long as their source hash does not change.
  */
 public final class TemplateValidator implements DefinitionValidator<Void> {
 
@@ -60,9 +62,15 @@ public final class TemplateValidator implements DefinitionValidator<Void> {
     if (StringUtils.equalsIgnoreCase(resource.getFileExtension(), FILE_EXTENSION)) {
       String templatePath = StringUtils.substringAfter(PathUtil.unifySlashes(resource.getCanonicalPath()),
           PathUtil.unifySlashes(templateDir.getCanonicalPath()) + "/");
-      Handlebars handlebars = handlebarsManager.get(NoneEscapingStrategy.NAME, StandardCharsets.UTF_8.name());
+      String charset = StandardCharsets.UTF_8.name();
+      Handlebars handlebars = handlebarsManager.get(NoneEscapingStrategy.NAME, charset);
       try {
-        handlebars.compile(templatePath);
+        // skip templates that were compiled successfully before and whose source did not change
+        TemplateMetadata metadata = handlebarsManager.getTemplateMetadata(templatePath, charset);
+        if (!metadata.isValidated()) {
+          handlebars.compile(templatePath);
+          handlebarsManager.markTemplateValidated(templatePath, charset, metadata);
+        }
       }
       /*CHECKSTYLE:OFF*/ catch (Exception ex) { /*CHECKSTYLE:ON*/
         throw new MojoFailureException("Template " + pathForLog + " is invalid:\n" + ex.getMessage());